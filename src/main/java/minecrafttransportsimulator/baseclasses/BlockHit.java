@@ -0,0 +1,16 @@
+package minecrafttransportsimulator.baseclasses;
+
+/**Result of tracing a ray through the blocks of a world.  Objects of this class are
+ * meant to be re-used for multiple traces, so their values are only valid until the
+ * next trace they are passed to, and only if that trace hit a block.
+ *
+ * @author don_bruce
+ */
+public class BlockHit{
+	/**Position of the block that was hit.**/
+	public final Point3d blockPosition = new Point3d();
+	/**Position where the ray first touched the block's collision boxes.**/
+	public final Point3d hitPosition = new Point3d();
+	/**How far along the ray the hit was, from 0 at the start to 1 at the end.**/
+	public double fraction;
+}
@@ -32,7 +32,9 @@ public class BoundingBox{
 	public final Point3d localCenter;
 	public final Point3d globalCenter;
 	public final Point3d currentCollisionDepth;
+	/**Positions of the blocks this box collided with on the last collision check.  These points are re-used between checks, so don't hold onto them.**/
 	public final List<Point3d> collidingBlockPositions = new ArrayList<Point3d>();
+	private final List<Point3d> collidingBlockPositionPool = new ArrayList<Point3d>();
 	public final RenderableObject renderable;
 	private final Point3d tempGlobalCenter;
 	
@@ -110,6 +112,18 @@ public class BoundingBox{
 		return updateCollisions(world, offset, true);
 	}
 	
+	/**
+	 *  Adds the passed-in block position to {@link #collidingBlockPositions}.  Points are
+	 *  re-used from prior checks to avoid creating new ones every check.
+	 */
+	public void addCollidingBlockPosition(int x, int y, int z){
+		int index = collidingBlockPositions.size();
+		if(index == collidingBlockPositionPool.size()){
+			collidingBlockPositionPool.add(new Point3d());
+		}
+		collidingBlockPositions.add(collidingBlockPositionPool.get(index).set(x, y, z));
+	}
+	
 	private boolean updateCollisions(WrapperWorld world, Point3d offset, boolean ignoreIfGreater){
 		tempGlobalCenter.setTo(globalCenter);
 		globalCenter.add(offset);
@@ -295,6 +309,20 @@ public class BoundingBox{
 		);
 	}
 	
+	/**
+	 *  Helper method to get the bounds of the BoundingBox, offset by the passed-in offset.
+	 *  The bounds are put into the passed-in array as minX, minY, minZ, maxX, maxY, maxZ.
+	 *  This allows the caller to re-use the array rather than creating an AxisAlignedBB for every check.
+	 */
+	public void getBounds(double[] bounds, double x, double y, double z){
+		bounds[0] = x + globalCenter.x - widthRadius;
+		bounds[1] = y + globalCenter.y - heightRadius;
+		bounds[2] = z + globalCenter.z - depthRadius;
+		bounds[3] = x + globalCenter.x + widthRadius;
+		bounds[4] = y + globalCenter.y + heightRadius;
+		bounds[5] = z + globalCenter.z + depthRadius;
+	}
+	
 	/**
 	 *  Helper method to convert the BoundingBox to an AxisAlignedBB.
 	 *  This method allows for an offset to the conversion, to prevent
@@ -0,0 +1,332 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**Bounding volume hierarchy over a collection of {@link BoundingBox}es.  Used for entities with many boxes,
+ * where checking every box for every query would be costly.  Each node holds the bounds of all the boxes
+ * below it, so queries only descend into nodes whose bounds can contain a result.
+ * <br><br>
+ * The tree is built once for a set of boxes, and is re-used as long as the set doesn't change.  When boxes move,
+ * such as when the entity moves or an animated collision group moves, {@link #update(Collection)} refits the node
+ * bounds from the boxes up, only re-calculating nodes that have a box below them that moved.  The tree shape is
+ * kept when refitting, so it may become less optimal as boxes move relative to each other, but it is always correct.
+ *
+ * @author don_bruce
+ */
+public class BoundingBoxHierarchy{
+	private static final int AXES = 3;
+
+	/**Boxes in the order they were passed in, used to check if the boxes have changed.**/
+	private BoundingBox[] boxes = new BoundingBox[0];
+	/**Boxes in the order of the leaves of the tree.**/
+	private BoundingBox[] leafBoxes = new BoundingBox[0];
+	private int nodeCount;
+	/**Index into {@link #leafBoxes} for leaf nodes, or -1 for branch nodes.  Branch nodes have their left child right after them.**/
+	private int[] nodeBoxes = new int[0];
+	/**Index of the right child of branch nodes.**/
+	private int[] rightChildren = new int[0];
+	/**Minimum and maximum bounds of each node, indexed by node*3 + axis.**/
+	private double[] nodeMins = new double[0];
+	private double[] nodeMaxs = new double[0];
+	private boolean[] nodesChanged = new boolean[0];
+	private int[] stack = new int[0];
+
+	/**
+	 *  Updates this hierarchy to the passed-in boxes.  If the boxes are the same as the last call,
+	 *  the node bounds are refit to the current box positions.  Otherwise, the tree is re-built.
+	 */
+	public void update(Collection<BoundingBox> newBoxes){
+		boolean sameBoxes = newBoxes.size() == boxes.length;
+		if(sameBoxes){
+			int index = 0;
+			for(BoundingBox box : newBoxes){
+				if(box != boxes[index++]){
+					sameBoxes = false;
+					break;
+				}
+			}
+		}
+		if(sameBoxes){
+			refit();
+		}else{
+			build(newBoxes);
+		}
+	}
+
+	/**
+	 *  Returns true if any box intersects the passed-in bounds.  Same check as {@link BoundingBox#intersects(BoundingBox)}.
+	 */
+	public boolean intersects(double minX, double minY, double minZ, double maxX, double maxY, double maxZ){
+		if(nodeCount == 0){
+			return false;
+		}
+		int stackSize = 0;
+		stack[stackSize++] = 0;
+		while(stackSize > 0){
+			int node = stack[--stackSize];
+			int offset = node*AXES;
+			if(maxX > nodeMins[offset] && minX < nodeMaxs[offset] && maxY > nodeMins[offset + 1] && minY < nodeMaxs[offset + 1] && maxZ > nodeMins[offset + 2] && minZ < nodeMaxs[offset + 2]){
+				if(nodeBoxes[node] != -1){
+					BoundingBox box = leafBoxes[nodeBoxes[node]];
+					if(maxX > box.globalCenter.x - box.widthRadius && minX < box.globalCenter.x + box.widthRadius && maxY > box.globalCenter.y - box.heightRadius && minY < box.globalCenter.y + box.heightRadius && maxZ > box.globalCenter.z - box.depthRadius && minZ < box.globalCenter.z + box.depthRadius){
+						return true;
+					}
+				}else{
+					stack[stackSize++] = node + 1;
+					stack[stackSize++] = rightChildren[node];
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 *  Returns the distance the passed-in bounds can move on the passed-in axis (0 for X, 1 for Y, 2 for Z), up to the
+	 *  passed-in offset, before hitting a box.  Only boxes the bounds overlap on the other two axes are checked,
+	 *  and boxes the bounds already overlap on the movement axis are ignored.  This is the same logic MC uses
+	 *  for moving entities into AABBs.
+	 */
+	public double calculateOffset(int axis, double minX, double minY, double minZ, double maxX, double maxY, double maxZ, double offset){
+		if(nodeCount == 0 || offset == 0){
+			return offset;
+		}
+		double min = axis == 0 ? minX : (axis == 1 ? minY : minZ);
+		double max = axis == 0 ? maxX : (axis == 1 ? maxY : maxZ);
+		int stackSize = 0;
+		stack[stackSize++] = 0;
+		while(stackSize > 0){
+			int node = stack[--stackSize];
+			int nodeOffset = node*AXES;
+
+			//Check the node overlaps on the other axes, and is in the range the bounds are moving through.
+			if((axis == 0 || (maxX > nodeMins[nodeOffset] && minX < nodeMaxs[nodeOffset])) && (axis == 1 || (maxY > nodeMins[nodeOffset + 1] && minY < nodeMaxs[nodeOffset + 1])) && (axis == 2 || (maxZ > nodeMins[nodeOffset + 2] && minZ < nodeMaxs[nodeOffset + 2]))){
+				if(offset > 0 ? (nodeMaxs[nodeOffset + axis] < max || nodeMins[nodeOffset + axis] - max >= offset) : (nodeMins[nodeOffset + axis] > min || nodeMaxs[nodeOffset + axis] - min <= offset)){
+					continue;
+				}
+				if(nodeBoxes[node] != -1){
+					BoundingBox box = leafBoxes[nodeBoxes[node]];
+					if((axis == 0 || (maxX > getMin(box, 0) && minX < getMax(box, 0))) && (axis == 1 || (maxY > getMin(box, 1) && minY < getMax(box, 1))) && (axis == 2 || (maxZ > getMin(box, 2) && minZ < getMax(box, 2)))){
+						if(offset > 0){
+							double collisionDepth = getMin(box, axis) - max;
+							if(collisionDepth >= 0 && collisionDepth < offset){
+								offset = collisionDepth;
+							}
+						}else{
+							double collisionDepth = getMax(box, axis) - min;
+							if(collisionDepth <= 0 && collisionDepth > offset){
+								offset = collisionDepth;
+							}
+						}
+					}
+				}else{
+					stack[stackSize++] = node + 1;
+					stack[stackSize++] = rightChildren[node];
+				}
+			}
+		}
+		return offset;
+	}
+
+	/**
+	 *  Returns the box hit closest to the start of the passed-in line, or null if no boxes are hit.
+	 *  Uses {@link BoundingBox#getIntersectionPoint(Point3d, Point3d)} for the boxes near the line.
+	 */
+	public BoundingBox getClosestIntersectedBox(Point3d start, Point3d end){
+		if(nodeCount == 0){
+			return null;
+		}
+		double deltaX = end.x - start.x;
+		double deltaY = end.y - start.y;
+		double deltaZ = end.z - start.z;
+		double length = Math.sqrt(deltaX*deltaX + deltaY*deltaY + deltaZ*deltaZ);
+		BoundingBox closestBox = null;
+		double closestDistance = Double.MAX_VALUE;
+		int stackSize = 0;
+		stack[stackSize++] = 0;
+		while(stackSize > 0){
+			int node = stack[--stackSize];
+			double entry = getLineEntry(node, start, deltaX, deltaY, deltaZ);
+			if(entry >= 0 && entry*length <= closestDistance){
+				if(nodeBoxes[node] != -1){
+					BoundingBox box = leafBoxes[nodeBoxes[node]];
+					Point3d intersection = box.getIntersectionPoint(start, end);
+					if(intersection != null){
+						double distance = intersection.distanceTo(start);
+						if(distance < closestDistance){
+							closestDistance = distance;
+							closestBox = box;
+						}
+					}
+				}else{
+					stack[stackSize++] = node + 1;
+					stack[stackSize++] = rightChildren[node];
+				}
+			}
+		}
+		return closestBox;
+	}
+
+	/**
+	 *  Returns the fraction of the line from the start point at which it enters the node's bounds,
+	 *  0 if it starts inside them, or -1 if it doesn't touch them.
+	 */
+	private double getLineEntry(int node, Point3d start, double deltaX, double deltaY, double deltaZ){
+		double entry = 0;
+		double exit = 1;
+		for(int axis=0; axis<AXES; ++axis){
+			double origin = axis == 0 ? start.x : (axis == 1 ? start.y : start.z);
+			double delta = axis == 0 ? deltaX : (axis == 1 ? deltaY : deltaZ);
+			double min = nodeMins[node*AXES + axis];
+			double max = nodeMaxs[node*AXES + axis];
+			if(delta == 0){
+				if(origin < min || origin > max){
+					return -1;
+				}
+			}else{
+				double first = (min - origin)/delta;
+				double second = (max - origin)/delta;
+				entry = Math.max(entry, Math.min(first, second));
+				exit = Math.min(exit, Math.max(first, second));
+				if(entry > exit){
+					return -1;
+				}
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 *  Builds the tree for the passed-in boxes.  Boxes are split at the median of their
+	 *  centers on the longest axis, which gives a balanced tree.
+	 */
+	private void build(Collection<BoundingBox> newBoxes){
+		boxes = newBoxes.toArray(new BoundingBox[newBoxes.size()]);
+		int maxNodes = Math.max(2*boxes.length - 1, 0);
+		nodeBoxes = new int[maxNodes];
+		rightChildren = new int[maxNodes];
+		nodeMins = new double[maxNodes*AXES];
+		nodeMaxs = new double[maxNodes*AXES];
+		nodesChanged = new boolean[maxNodes];
+		stack = new int[maxNodes + 1];
+		nodeCount = 0;
+
+		//Sort a copy, as the original order is used to check if the boxes have changed.
+		leafBoxes = Arrays.copyOf(boxes, boxes.length);
+		if(leafBoxes.length > 0){
+			buildNode(0, leafBoxes.length);
+		}
+		for(int node=0; node<nodeCount; ++node){
+			nodesChanged[node] = true;
+		}
+		refitChanged();
+	}
+
+	private int buildNode(int start, int end){
+		int node = nodeCount++;
+		if(end - start == 1){
+			nodeBoxes[node] = start;
+			return node;
+		}
+		nodeBoxes[node] = -1;
+
+		//Find the axis the box centers are most spread out on.
+		double[] minCenters = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+		double[] maxCenters = new double[]{-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+		for(int i=start; i<end; ++i){
+			for(int axis=0; axis<AXES; ++axis){
+				double center = getCenter(leafBoxes[i], axis);
+				minCenters[axis] = Math.min(minCenters[axis], center);
+				maxCenters[axis] = Math.max(maxCenters[axis], center);
+			}
+		}
+		int splitAxis = 0;
+		for(int axis=1; axis<AXES; ++axis){
+			if(maxCenters[axis] - minCenters[axis] > maxCenters[splitAxis] - minCenters[splitAxis]){
+				splitAxis = axis;
+			}
+		}
+		final int sortAxis = splitAxis;
+		Arrays.sort(leafBoxes, start, end, new Comparator<BoundingBox>(){
+			@Override
+			public int compare(BoundingBox first, BoundingBox second){
+				return Double.compare(getCenter(first, sortAxis), getCenter(second, sortAxis));
+			}
+		});
+
+		int middle = (start + end)/2;
+		buildNode(start, middle);
+		rightChildren[node] = buildNode(middle, end);
+		return node;
+	}
+
+	/**
+	 *  Refits the bounds of the nodes to the current box positions.  Only leaves whose box
+	 *  moved, and the branches above them, are re-calculated.
+	 */
+	private void refit(){
+		boolean anyChanged = false;
+		for(int node=0; node<nodeCount; ++node){
+			if(nodeBoxes[node] != -1){
+				BoundingBox box = leafBoxes[nodeBoxes[node]];
+				int offset = node*AXES;
+				boolean changed = false;
+				for(int axis=0; axis<AXES; ++axis){
+					if(nodeMins[offset + axis] != getMin(box, axis) || nodeMaxs[offset + axis] != getMax(box, axis)){
+						changed = true;
+						break;
+					}
+				}
+				nodesChanged[node] = changed;
+				anyChanged |= changed;
+			}else{
+				nodesChanged[node] = false;
+			}
+		}
+		if(anyChanged){
+			refitChanged();
+		}
+	}
+
+	/**
+	 *  Re-calculates the bounds of all nodes flagged as changed, and all branches above them.
+	 *  Children always come after their parents, so going backwards does the children first.
+	 */
+	private void refitChanged(){
+		for(int node=nodeCount - 1; node>=0; --node){
+			int offset = node*AXES;
+			if(nodeBoxes[node] != -1){
+				if(nodesChanged[node]){
+					BoundingBox box = leafBoxes[nodeBoxes[node]];
+					for(int axis=0; axis<AXES; ++axis){
+						nodeMins[offset + axis] = getMin(box, axis);
+						nodeMaxs[offset + axis] = getMax(box, axis);
+					}
+				}
+			}else{
+				int left = node + 1;
+				int right = rightChildren[node];
+				if(nodesChanged[left] || nodesChanged[right]){
+					nodesChanged[node] = true;
+					for(int axis=0; axis<AXES; ++axis){
+						nodeMins[offset + axis] = Math.min(nodeMins[left*AXES + axis], nodeMins[right*AXES + axis]);
+						nodeMaxs[offset + axis] = Math.max(nodeMaxs[left*AXES + axis], nodeMaxs[right*AXES + axis]);
+					}
+				}
+			}
+		}
+	}
+
+	private static double getCenter(BoundingBox box, int axis){
+		return axis == 0 ? box.globalCenter.x : (axis == 1 ? box.globalCenter.y : box.globalCenter.z);
+	}
+
+	private static double getMin(BoundingBox box, int axis){
+		return axis == 0 ? box.globalCenter.x - box.widthRadius : (axis == 1 ? box.globalCenter.y - box.heightRadius : box.globalCenter.z - box.depthRadius);
+	}
+
+	private static double getMax(BoundingBox box, int axis){
+		return axis == 0 ? box.globalCenter.x + box.widthRadius : (axis == 1 ? box.globalCenter.y + box.heightRadius : box.globalCenter.z + box.depthRadius);
+	}
+}
@@ -0,0 +1,177 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
+
+/**Uniform-grid spatial index for {@link AEntityE_Interactable}s.  The world is split into chunk-sized columns,
+ * and each entity is stored in every column its {@link AEntityE_Interactable#encompassingBox} overlaps.
+ * This allows queries for entities near a point or box to only check the entities in the columns around
+ * that area, rather than every entity in the world.
+ * <br><br>
+ * Entities are placed into columns when {@link #update(AEntityE_Interactable)} is called, which should be done
+ * whenever their encompassing box moves.  As entities may move before their next update, queries are padded by
+ * {@link #QUERY_PADDING} to catch any entities that have moved slightly out of their columns.  Results are filtered
+ * by the entity's current box or position, so this padding never returns entities that aren't in range.
+ *
+ * @author don_bruce
+ */
+public class EntitySpatialHash{
+	/**Bits to shift a block coordinate by to get the column coordinate.  Columns are 16 blocks, the same as chunks.**/
+	private static final int CELL_SHIFT = 4;
+	/**Distance that queries are expanded by, to account for entities that moved after being placed in their columns.**/
+	private static final double QUERY_PADDING = 8;
+
+	private final Map<Long, List<Entry>> cells = new HashMap<Long, List<Entry>>();
+	private final Map<AEntityE_Interactable<?>, Entry> entries = new IdentityHashMap<AEntityE_Interactable<?>, Entry>();
+	private int currentQuery;
+
+	/**
+	 *  Updates the columns the passed-in entity is in, adding it if it isn't in this index.
+	 *  Does nothing if the entity is still in the same columns.
+	 */
+	public synchronized void update(AEntityE_Interactable<?> entity){
+		BoundingBox box = entity.encompassingBox;
+		int minX = toCell(box.globalCenter.x - box.widthRadius);
+		int maxX = toCell(box.globalCenter.x + box.widthRadius);
+		int minZ = toCell(box.globalCenter.z - box.depthRadius);
+		int maxZ = toCell(box.globalCenter.z + box.depthRadius);
+
+		Entry entry = entries.get(entity);
+		if(entry == null){
+			entry = new Entry(entity);
+			entries.put(entity, entry);
+		}else if(entry.minX == minX && entry.maxX == maxX && entry.minZ == minZ && entry.maxZ == maxZ){
+			return;
+		}else{
+			removeFromCells(entry);
+		}
+
+		entry.minX = minX;
+		entry.maxX = maxX;
+		entry.minZ = minZ;
+		entry.maxZ = maxZ;
+		for(int x=minX; x<=maxX; ++x){
+			for(int z=minZ; z<=maxZ; ++z){
+				Long key = getKey(x, z);
+				List<Entry> cell = cells.get(key);
+				if(cell == null){
+					cell = new ArrayList<Entry>();
+					cells.put(key, cell);
+				}
+				cell.add(entry);
+			}
+		}
+	}
+
+	/**
+	 *  Removes the passed-in entity from this index.  Does nothing if the entity isn't in it.
+	 */
+	public synchronized void remove(AEntityE_Interactable<?> entity){
+		Entry entry = entries.remove(entity);
+		if(entry != null){
+			removeFromCells(entry);
+		}
+	}
+
+	/**
+	 *  Returns all entities of the passed-in class whose encompassing box intersects the passed-in box.
+	 */
+	public synchronized <EntityType extends AEntityE_Interactable<?>> List<EntityType> getEntitiesWithin(Class<EntityType> entityClass, BoundingBox box){
+		List<EntityType> entities = new ArrayList<EntityType>();
+		int minX = toCell(box.globalCenter.x - box.widthRadius - QUERY_PADDING);
+		int maxX = toCell(box.globalCenter.x + box.widthRadius + QUERY_PADDING);
+		int minZ = toCell(box.globalCenter.z - box.depthRadius - QUERY_PADDING);
+		int maxZ = toCell(box.globalCenter.z + box.depthRadius + QUERY_PADDING);
+		++currentQuery;
+		for(int x=minX; x<=maxX; ++x){
+			for(int z=minZ; z<=maxZ; ++z){
+				List<Entry> cell = cells.get(getKey(x, z));
+				if(cell != null){
+					for(Entry entry : cell){
+						if(entry.lastQuery != currentQuery){
+							entry.lastQuery = currentQuery;
+							if(entityClass.isInstance(entry.entity) && entry.entity.encompassingBox.intersects(box)){
+								entities.add(entityClass.cast(entry.entity));
+							}
+						}
+					}
+				}
+			}
+		}
+		return entities;
+	}
+
+	/**
+	 *  Returns all entities of the passed-in class whose position is within the passed-in radius of the point.
+	 */
+	public synchronized <EntityType extends AEntityE_Interactable<?>> List<EntityType> getEntitiesWithin(Class<EntityType> entityClass, Point3d point, double radius){
+		List<EntityType> entities = new ArrayList<EntityType>();
+		int minX = toCell(point.x - radius - QUERY_PADDING);
+		int maxX = toCell(point.x + radius + QUERY_PADDING);
+		int minZ = toCell(point.z - radius - QUERY_PADDING);
+		int maxZ = toCell(point.z + radius + QUERY_PADDING);
+		++currentQuery;
+		for(int x=minX; x<=maxX; ++x){
+			for(int z=minZ; z<=maxZ; ++z){
+				List<Entry> cell = cells.get(getKey(x, z));
+				if(cell != null){
+					for(Entry entry : cell){
+						if(entry.lastQuery != currentQuery){
+							entry.lastQuery = currentQuery;
+							if(entityClass.isInstance(entry.entity) && entry.entity.position.distanceTo(point) <= radius){
+								entities.add(entityClass.cast(entry.entity));
+							}
+						}
+					}
+				}
+			}
+		}
+		return entities;
+	}
+
+	private void removeFromCells(Entry entry){
+		for(int x=entry.minX; x<=entry.maxX; ++x){
+			for(int z=entry.minZ; z<=entry.maxZ; ++z){
+				Long key = getKey(x, z);
+				List<Entry> cell = cells.get(key);
+				if(cell != null){
+					//Swap-remove, as order doesn't matter and cells may hold many entities.
+					int index = cell.indexOf(entry);
+					if(index != -1){
+						cell.set(index, cell.get(cell.size() - 1));
+						cell.remove(cell.size() - 1);
+					}
+					if(cell.isEmpty()){
+						cells.remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	private static int toCell(double coord){
+		return ((int) Math.floor(coord)) >> CELL_SHIFT;
+	}
+
+	private static Long getKey(int cellX, int cellZ){
+		return (((long) cellX) << 32) | (cellZ & 0xFFFFFFFFL);
+	}
+
+	private static class Entry{
+		private final AEntityE_Interactable<?> entity;
+		private int minX;
+		private int maxX;
+		private int minZ;
+		private int maxZ;
+		private int lastQuery;
+
+		private Entry(AEntityE_Interactable<?> entity){
+			this.entity = entity;
+		}
+	}
+}
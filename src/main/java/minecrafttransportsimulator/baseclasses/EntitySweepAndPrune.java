@@ -0,0 +1,187 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.entities.components.AEntityE_Interactable;
+
+/**Sweep-and-prune broadphase for {@link AEntityE_Interactable}s.  The min and max X-coordinates of each entity's
+ * {@link AEntityE_Interactable#encompassingBox} are kept in a single sorted list of endpoints.  Two entities overlap
+ * on the X-axis if their endpoints interleave, so when an endpoint is moved past another one during sorting, the
+ * pair of entities either starts or stops overlapping.  This lets the overlapping pairs be maintained incrementally,
+ * as entities only move a short distance each update, and so only swap places with a few endpoints.
+ * <br><br>
+ * Entities are moved to their new positions when {@link #update(AEntityE_Interactable, double)} is called, which
+ * should be done whenever their encompassing box moves.  Boxes are padded by the passed-in amount to account for
+ * any movement or checks outside the box before the next update.  Queries only need to check the pairs an entity
+ * is in, so the cost scales with the number of entities that are actually near each other, not the number of entities.
+ *
+ * @author don_bruce
+ */
+public class EntitySweepAndPrune{
+	private final Map<AEntityE_Interactable<?>, Entry> entries = new IdentityHashMap<AEntityE_Interactable<?>, Entry>();
+	private Endpoint[] endpoints = new Endpoint[16];
+	private int endpointCount;
+
+	/**
+	 *  Updates the position of the passed-in entity, adding it if it isn't in this broadphase.
+	 *  The entity's encompassing box is expanded by the passed-in padding on all sides.
+	 */
+	public synchronized void update(AEntityE_Interactable<?> entity, double padding){
+		BoundingBox box = entity.encompassingBox;
+		double minX = box.globalCenter.x - box.widthRadius - padding;
+		double maxX = box.globalCenter.x + box.widthRadius + padding;
+
+		Entry entry = entries.get(entity);
+		if(entry == null){
+			//New entries are added to the end of the list, then moved into place.
+			//This adds their pairs in the same way as any other movement.
+			entry = new Entry(entity);
+			entries.put(entity, entry);
+			if(endpointCount + 2 > endpoints.length){
+				Endpoint[] newEndpoints = new Endpoint[endpoints.length*2];
+				System.arraycopy(endpoints, 0, newEndpoints, 0, endpointCount);
+				endpoints = newEndpoints;
+			}
+			entry.min.value = minX;
+			entry.min.index = endpointCount;
+			endpoints[endpointCount++] = entry.min;
+			entry.max.value = maxX;
+			entry.max.index = endpointCount;
+			endpoints[endpointCount++] = entry.max;
+			moveEndpoint(entry.min);
+			moveEndpoint(entry.max);
+		}else if(entry.min.value != minX || entry.max.value != maxX){
+			//Move the leading endpoint first, so the endpoints never pass each other.
+			boolean movingUp = minX > entry.min.value;
+			entry.min.value = minX;
+			entry.max.value = maxX;
+			if(movingUp){
+				moveEndpoint(entry.max);
+				moveEndpoint(entry.min);
+			}else{
+				moveEndpoint(entry.min);
+				moveEndpoint(entry.max);
+			}
+		}
+		entry.minY = box.globalCenter.y - box.heightRadius - padding;
+		entry.maxY = box.globalCenter.y + box.heightRadius + padding;
+		entry.minZ = box.globalCenter.z - box.depthRadius - padding;
+		entry.maxZ = box.globalCenter.z + box.depthRadius + padding;
+	}
+
+	/**
+	 *  Removes the passed-in entity from this broadphase.  Does nothing if the entity isn't in it.
+	 */
+	public synchronized void remove(AEntityE_Interactable<?> entity){
+		Entry entry = entries.remove(entity);
+		if(entry != null){
+			for(Entry other : entry.overlaps){
+				other.overlaps.remove(entry);
+			}
+			entry.overlaps.clear();
+
+			//Shift the endpoints after the removed ones down.  This keeps the list sorted.
+			int shift = 0;
+			for(int i=entry.min.index; i<endpointCount; ++i){
+				Endpoint endpoint = endpoints[i];
+				if(endpoint.entry == entry){
+					++shift;
+				}else{
+					endpoint.index = i - shift;
+					endpoints[endpoint.index] = endpoint;
+				}
+			}
+			for(int i=endpointCount - shift; i<endpointCount; ++i){
+				endpoints[i] = null;
+			}
+			endpointCount -= shift;
+		}
+	}
+
+	/**
+	 *  Returns all entities of the passed-in class whose padded box overlaps the padded box of the passed-in entity.
+	 *  If the passed-in entity isn't in this broadphase, an empty list is returned.
+	 */
+	public synchronized <EntityType extends AEntityE_Interactable<?>> List<EntityType> getOverlappingEntities(Class<EntityType> entityClass, AEntityE_Interactable<?> entity){
+		List<EntityType> entities = new ArrayList<EntityType>();
+		Entry entry = entries.get(entity);
+		if(entry != null){
+			for(Entry other : entry.overlaps){
+				if(other.minY < entry.maxY && other.maxY > entry.minY && other.minZ < entry.maxZ && other.maxZ > entry.minZ && entityClass.isInstance(other.entity)){
+					entities.add(entityClass.cast(other.entity));
+				}
+			}
+		}
+		return entities;
+	}
+
+	/**
+	 *  Moves the passed-in endpoint to its sorted position, swapping it with each endpoint it passes.
+	 */
+	private void moveEndpoint(Endpoint endpoint){
+		int index = endpoint.index;
+		while(index > 0 && endpoints[index - 1].value > endpoint.value){
+			swapEndpoints(index - 1, index);
+			--index;
+		}
+		while(index < endpointCount - 1 && endpoints[index + 1].value < endpoint.value){
+			swapEndpoints(index, index + 1);
+			++index;
+		}
+	}
+
+	/**
+	 *  Swaps the two endpoints at the passed-in indexes, which must be next to each other.
+	 *  If a min endpoint moves before a max endpoint, their entities start overlapping.
+	 *  If a max endpoint moves before a min endpoint, their entities stop overlapping.
+	 */
+	private void swapEndpoints(int leftIndex, int rightIndex){
+		Endpoint left = endpoints[leftIndex];
+		Endpoint right = endpoints[rightIndex];
+		if(left.entry != right.entry){
+			if(right.isMin && !left.isMin){
+				left.entry.overlaps.add(right.entry);
+				right.entry.overlaps.add(left.entry);
+			}else if(!right.isMin && left.isMin){
+				left.entry.overlaps.remove(right.entry);
+				right.entry.overlaps.remove(left.entry);
+			}
+		}
+		endpoints[leftIndex] = right;
+		right.index = leftIndex;
+		endpoints[rightIndex] = left;
+		left.index = rightIndex;
+	}
+
+	private static class Entry{
+		private final AEntityE_Interactable<?> entity;
+		private final Endpoint min;
+		private final Endpoint max;
+		private final List<Entry> overlaps = new ArrayList<Entry>();
+		private double minY;
+		private double maxY;
+		private double minZ;
+		private double maxZ;
+
+		private Entry(AEntityE_Interactable<?> entity){
+			this.entity = entity;
+			this.min = new Endpoint(this, true);
+			this.max = new Endpoint(this, false);
+		}
+	}
+
+	private static class Endpoint{
+		private final Entry entry;
+		private final boolean isMin;
+		private double value;
+		private int index;
+
+		private Endpoint(Entry entry, boolean isMin){
+			this.entry = entry;
+			this.isMin = isMin;
+		}
+	}
+}
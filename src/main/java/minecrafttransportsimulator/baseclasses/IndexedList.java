@@ -0,0 +1,119 @@
+package minecrafttransportsimulator.baseclasses;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**Unordered collection with O(1) add, remove, and contains.  Elements are stored in a dense array,
+ * with a map from each element to its index in that array.  Removal swaps the last element into the
+ * removed element's slot, so the order of elements is not preserved.  Elements are compared by identity.
+ * <br><br>
+ * Iteration is done over a snapshot of the array, so elements may be added and removed while iterating
+ * without affecting the iteration.  This is done by copying the array on the first modification after
+ * an iterator is created, so many modifications between iterations, such as all the entities in a chunk
+ * being removed at once, only copy the array once.  Modifications are synchronized, so this collection
+ * is safe to modify from one thread while it is being iterated on another.
+ *
+ * @author don_bruce
+ */
+public class IndexedList<E> extends AbstractCollection<E>{
+	private final Map<E, Integer> indexes = new IdentityHashMap<E, Integer>();
+	private volatile Object[] elements = new Object[16];
+	private volatile int size;
+	/**True if an iterator may be using the current array, and it needs to be copied before it is modified.**/
+	private boolean shared;
+
+	@Override
+	public synchronized boolean add(E element){
+		if(indexes.containsKey(element)){
+			return false;
+		}
+		prepareForModification(size + 1);
+		elements[size] = element;
+		indexes.put(element, size);
+		++size;
+		return true;
+	}
+
+	@Override
+	public synchronized boolean remove(Object element){
+		Integer index = indexes.remove(element);
+		if(index == null){
+			return false;
+		}
+		prepareForModification(size);
+		int lastIndex = size - 1;
+		if(index != lastIndex){
+			//Move the last element into the removed slot to keep the array dense.
+			@SuppressWarnings("unchecked")
+			E lastElement = (E) elements[lastIndex];
+			elements[index] = lastElement;
+			indexes.put(lastElement, index);
+		}
+		elements[lastIndex] = null;
+		--size;
+		return true;
+	}
+
+	@Override
+	public synchronized boolean contains(Object element){
+		return indexes.containsKey(element);
+	}
+
+	@Override
+	public synchronized void clear(){
+		indexes.clear();
+		elements = new Object[16];
+		size = 0;
+		shared = false;
+	}
+
+	@Override
+	public int size(){
+		return size;
+	}
+
+	@Override
+	public synchronized Iterator<E> iterator(){
+		shared = true;
+		return new SnapshotIterator<E>(elements, size);
+	}
+
+	/**
+	 *  Ensures the array can hold the passed-in number of elements, and isn't being used by any iterators.
+	 */
+	private void prepareForModification(int capacity){
+		if(shared || capacity > elements.length){
+			elements = Arrays.copyOf(elements, Math.max(capacity > elements.length ? elements.length*2 : elements.length, capacity));
+			shared = false;
+		}
+	}
+
+	private static class SnapshotIterator<E> implements Iterator<E>{
+		private final Object[] elements;
+		private final int size;
+		private int index;
+
+		private SnapshotIterator(Object[] elements, int size){
+			this.elements = elements;
+			this.size = size;
+		}
+
+		@Override
+		public boolean hasNext(){
+			return index < size;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E next(){
+			if(index == size){
+				throw new NoSuchElementException();
+			}
+			return (E) elements[index++];
+		}
+	}
+}
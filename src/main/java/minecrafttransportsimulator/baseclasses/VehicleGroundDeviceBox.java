@@ -26,6 +26,8 @@ public class VehicleGroundDeviceBox{
 	private final List<BoundingBox> liquidCollisionBoxes = new ArrayList<BoundingBox>();
 	private final List<PartGroundDevice> groundDevices = new ArrayList<PartGroundDevice>();
 	private final List<PartGroundDevice> liquidDevices = new ArrayList<PartGroundDevice>();
+	private final Point3d mutableMotionOffset = new Point3d();
+	private final Point3d mutableAngles = new Point3d();
 	
 	public boolean canRollOnGround;
 	public boolean contactedEntity;
@@ -287,13 +289,34 @@ public class VehicleGroundDeviceBox{
 		}
 	}
 	
+	/**
+	 * Returns how far this box can drop from where the vehicle's current motion and rotation puts it
+	 * before it hits the ground, up to the passed-in max distance.  This only samples blocks, not entities,
+	 * so it is used to predict ground contact, with {@link #updateCollisionStatuses(Set)} used to confirm it.
+	 */
+	public double getDistanceToGround(double maxDistance){
+		Point3d vehicleMotionOffset = mutableMotionOffset.setTo(vehicle.motion).multiply(EntityVehicleF_Physics.SPEED_FACTOR);
+		Point3d boxAngles = mutableAngles.setTo(vehicle.angles).add(vehicle.rotation);
+		double distance = maxDistance;
+		if(!groundDevices.isEmpty()){
+			solidBox.globalCenter.setTo(solidBox.localCenter).rotateFine(boxAngles).add(vehicle.position).add(vehicleMotionOffset);
+			distance = vehicle.world.getDistanceToBlocksBelow(solidBox, distance);
+		}
+		if((!canRollOnGround || !isAbleToDoGroundOperations) && (!liquidDevices.isEmpty() || !liquidCollisionBoxes.isEmpty())){
+			liquidBox.globalCenter.setTo(liquidBox.localCenter).rotateFine(boxAngles).add(vehicle.position).add(vehicleMotionOffset);
+			distance = vehicle.world.getDistanceToBlocksBelow(liquidBox, distance);
+		}
+		return distance;
+	}
+	
 	/**
 	 * Helper method for checking for entity collisions.
+	 * Only vehicles that the world's broadphase says could be in contact with our vehicle are checked.
 	 */
 	private boolean checkEntityCollisions(Point3d collisionMotion){
 		boolean didCollision = false;
-		for(EntityVehicleF_Physics otherVehicle : vehicle.world.getEntitiesOfType(EntityVehicleF_Physics.class)){
-			if(!otherVehicle.equals(vehicle) && vehicle.canCollideWith(otherVehicle) && !otherVehicle.collidedEntities.contains(vehicle) && otherVehicle.encompassingBox.intersects(solidBox)){
+		for(EntityVehicleF_Physics otherVehicle : vehicle.world.getVehicleContactCandidates(vehicle)){
+			if(vehicle.canCollideWith(otherVehicle) && !otherVehicle.collidedEntities.contains(vehicle) && otherVehicle.encompassingBox.intersects(solidBox)){
 				//We know we could have hit this entity.  Check if we actually did.
 				BoundingBox collidingBox = null;
 				double boxCollisionDepth = 0;
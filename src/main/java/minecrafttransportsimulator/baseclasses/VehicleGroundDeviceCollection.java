@@ -232,6 +232,19 @@ public class VehicleGroundDeviceCollection{
 		return frontLeftGDB.isGrounded || frontRightGDB.isGrounded || rearLeftGDB.isGrounded || rearRightGDB.isGrounded;
 	}
 	
+	/**
+	 * Returns the state of all boxes as bits.  For each box, front left, front right, rear left, and rear right,
+	 * a bit is set if it is collided, and another if it is grounded.  This can be compared to a prior state to
+	 * check if anything under the boxes has changed.
+	 */
+	public int getGroundState(){
+		return getGroundState(frontLeftGDB) | getGroundState(frontRightGDB) << 2 | getGroundState(rearLeftGDB) << 4 | getGroundState(rearRightGDB) << 6;
+	}
+	
+	private static int getGroundState(VehicleGroundDeviceBox box){
+		return (box.isCollided ? 1 : 0) | (box.isGrounded ? 2 : 0);
+	}
+	
 	/**
 	 * Returns true if the passed-in device is actually on the ground.
 	 * This is different than the {@link #groundedGroundDevices}, as
@@ -420,8 +433,8 @@ public class VehicleGroundDeviceCollection{
 		//Only apply corrections if we have grounded offsets and the boxes are ready.
 		if((side1Delta != 0 || side2Delta != 0) && testBox1.isReady() && testBox2.isReady()){
 			//Now that we know we can rotate, get the angle required to put the boxes on the ground.
-			//We first try to rotate the boxes by the max angle defined by the linear movement, if this doesn't ground
-			//them, we return 0.  If it does ground them, then we inverse-calculate the exact angle required to ground them.
+			//The max angle is defined by the linear movement.  If the boxes would hit the ground before then,
+			//we calculate the exact angle required to ground them from the ground height below them.
 			double testSin = MAX_LINEAR_MOVEMENT_PER_TICK/Math.max(side1Delta, side2Delta);
 			if(testSin > 1){
 				testSin = 1;
@@ -435,78 +448,107 @@ public class VehicleGroundDeviceCollection{
 			//We also don't want to apply correction if it would cause us to pitch in excess of 85 degrees.
 			//This prevents wall-climbing and other odd physics.
 			if(vehicle.motion.y - groundBoost <= 0.01 && (pitch ? Math.abs(vehicle.angles.x + testRotation) < 85 : true)){
-				//Add rotation and motion, and check for box collisions.
 				//Check if correction is in opposite to requested rotation.
 				///If so, don't apply it and bail.
-				double intialLinearMovement = Math.sin(Math.toRadians(testRotation))*groundedSideOffset;
-				if(pitch){
-					if(vehicle.rotation.x*testRotation < 0 && vehicle.velocity > 0.5){
-						return 0;
-					}else{
-						vehicle.rotation.x += testRotation;
-					}
-				}else{
-					vehicle.rotation.z += testRotation;
+				if(pitch && vehicle.rotation.x*testRotation < 0 && vehicle.velocity > 0.5){
+					return 0;
 				}
-				vehicle.motion.y += intialLinearMovement;
-				testBox1.updateCollisionStatuses(null);
-				testBox2.updateCollisionStatuses(null);
 				
-				//Check if we collided after this movement.  If so, we need to calculate how far we need to angle to prevent collision.
-				//If we are tilting and a box along the axis centerline collided, ignore it, as these shouldn't be taken into account.
-				double angularCorrection = 0;
-				double linearCorrection = 0;
-				if(testBox1.collisionDepth > 0 && (pitch ? testBox1.contactPoint.z != 0 : testBox1.contactPoint.x != 0)){
-					angularCorrection = Math.toDegrees(Math.asin(testBox1.collisionDepth/side1Delta));
+				//Sample the ground below the boxes once, and get the angle at which the first of them touches it.
+				//Each box drops by its side delta times the sine of the angle, so this can be solved directly.
+				//If we are tilting, boxes along the axis centerline don't move, so they shouldn't be taken into account.
+				double groundSin = testSin;
+				if(pitch ? testBox1.contactPoint.z != 0 : testBox1.contactPoint.x != 0){
+					groundSin = getGroundedSin(testBox1, side1Delta, testSin, groundSin);
 				}
-				if(testBox2.collisionDepth > 0 && (pitch ? testBox2.contactPoint.z != 0 : testBox2.contactPoint.x != 0)){
-					double angularCorrection2 = Math.toDegrees(Math.asin(testBox2.collisionDepth/side2Delta));
-					if(angularCorrection == 0 || (angularCorrection > 0 ? angularCorrection2 > angularCorrection : angularCorrection2 < angularCorrection)){
-						angularCorrection = angularCorrection2;
-					}
+				if(pitch ? testBox2.contactPoint.z != 0 : testBox2.contactPoint.x != 0){
+					groundSin = getGroundedSin(testBox2, side2Delta, testSin, groundSin);
 				}
-				//If the angular correction is greater than our initial angle, don't change movement.
-				//This can happen if we rotate via an angle into a block.
-				if(angularCorrection != 0 && (Math.abs(angularCorrection) > Math.abs(testRotation) || Double.isNaN(angularCorrection))){
-					if(pitch){
-						vehicle.rotation.x -= testRotation;
-					}else{
-						vehicle.rotation.z -= testRotation;
-					}
-					vehicle.motion.y -= intialLinearMovement;
+				if(groundSin == 0){
 					return 0;
+				}
+				
+				//Apply motions, rotations, re-calculate GDB states, and return applied motion.y for further processing.
+				double angularMovement = Math.toDegrees(Math.asin(groundSin));
+				double linearMovement = groundSin*groundedSideOffset;
+				if(pitch){
+					vehicle.rotation.x += angularMovement;
 				}else{
-					//Apply motions, rotations, re-calculate GDB states, and return applied motion.y for further processing.
-					linearCorrection = intialLinearMovement*(angularCorrection/testRotation);
+					vehicle.rotation.z += angularMovement;
+				}
+				vehicle.motion.y += linearMovement;
+				updateCollisions();
+				if((testBox1.isCollided && testBox1.contactedEntity) || (testBox2.isCollided && testBox2.contactedEntity)){
+					//The ground sample doesn't see entities, so we rotated into one.  Get how far we need to rotate back to
+					//get out of it from how deep we are in it.  If that's more than we rotated, we can't rotate at all.
+					double angularCorrection = 0;
+					if(testBox1.collisionDepth > 0 && (pitch ? testBox1.contactPoint.z != 0 : testBox1.contactPoint.x != 0)){
+						angularCorrection = Math.toDegrees(Math.asin(testBox1.collisionDepth/side1Delta));
+					}
+					if(testBox2.collisionDepth > 0 && (pitch ? testBox2.contactPoint.z != 0 : testBox2.contactPoint.x != 0)){
+						double angularCorrection2 = Math.toDegrees(Math.asin(testBox2.collisionDepth/side2Delta));
+						if(angularCorrection == 0 || (angularCorrection > 0 ? angularCorrection2 > angularCorrection : angularCorrection2 < angularCorrection)){
+							angularCorrection = angularCorrection2;
+						}
+					}
+					if(Double.isNaN(angularCorrection) || Math.abs(angularCorrection) > Math.abs(angularMovement)){
+						angularCorrection = angularMovement;
+					}
+					double linearCorrection = linearMovement*(angularCorrection/angularMovement);
 					if(pitch){
 						vehicle.rotation.x -= angularCorrection;
 					}else{
 						vehicle.rotation.z -= angularCorrection;
 					}
 					vehicle.motion.y -= linearCorrection;
+					angularMovement -= angularCorrection;
+					linearMovement -= linearCorrection;
 					updateCollisions();
-					if(testBox1.isCollided || testBox2.isCollided){
-						//We have bad math here.  Likely due to tilting ground devices.
-						//Add only 5% of the rotation and just call it good.
-						double finalAngularMovement = (testRotation - angularCorrection)*0.05;
-						double finalLinearMovement = (intialLinearMovement - linearCorrection)*0.05;
-						if(pitch){
-							vehicle.rotation.x -= (testRotation - angularCorrection - finalAngularMovement);
-						}else{
-							vehicle.rotation.z -= (testRotation - angularCorrection - finalAngularMovement);
-						}
-						vehicle.motion.y -= (intialLinearMovement - linearCorrection - finalLinearMovement);
-						updateCollisions();
-						return finalLinearMovement;
+					if(angularMovement == 0){
+						return 0;
+					}
+				}
+				if(testBox1.isCollided || testBox2.isCollided){
+					//We have bad math here.  Likely due to tilting ground devices.
+					//Add only 5% of the rotation and just call it good.
+					double finalAngularMovement = angularMovement*0.05;
+					double finalLinearMovement = linearMovement*0.05;
+					if(pitch){
+						vehicle.rotation.x -= (angularMovement - finalAngularMovement);
 					}else{
-						return intialLinearMovement - linearCorrection;
+						vehicle.rotation.z -= (angularMovement - finalAngularMovement);
 					}
+					vehicle.motion.y -= (linearMovement - finalLinearMovement);
+					updateCollisions();
+					return finalLinearMovement;
+				}else{
+					return linearMovement;
 				}
 			}
 		}
 		return 0;
 	}
 	
+	/**
+	 * Helper function to get the sine of the angle that puts the passed-in box on the ground.
+	 * The box is sampled down to the distance it would drop at the passed-in max sine.  If it hits the ground
+	 * before then, and this takes a smaller angle than the passed-in current sine, that sine is returned.
+	 * Otherwise, the current sine is returned.
+	 */
+	private static double getGroundedSin(VehicleGroundDeviceBox testBox, double sideDelta, double maxSin, double currentSin){
+		double maxDrop = sideDelta*maxSin;
+		if(maxDrop > 0){
+			double groundDistance = testBox.getDistanceToGround(maxDrop);
+			if(groundDistance < maxDrop){
+				double groundedSin = groundDistance/sideDelta;
+				if(Math.abs(groundedSin) < Math.abs(currentSin)){
+					return groundedSin;
+				}
+			}
+		}
+		return currentSin;
+	}
+	
 	/**
 	 * Helper function to adjust angles for pitch for trailers.
 	 * Need to do inverted logic here. In this case, we want to rotate if we DO have a collision.
@@ -11,6 +11,7 @@ import minecrafttransportsimulator.packets.instances.PacketTileEntityLoaderConne
 
 public abstract class ATileEntityLoader extends TileEntityDecor{
 	public PartInteractable connectedPart;
+	private static final double MAX_CONNECTION_DISTANCE = 10;
 
     public ATileEntityLoader(WrapperWorld world, Point3d position, WrapperPlayer placingPlayer, WrapperNBT data){
 		super(world, position, placingPlayer, data);
@@ -29,7 +30,7 @@ public abstract class ATileEntityLoader extends TileEntityDecor{
 				}else{
 					//Don't load parts that don't exist.
 					//Also check distance to make sure the part hasn't moved away.
-					if(!connectedPart.isValid || connectedPart.position.distanceTo(position) > 10){
+					if(!connectedPart.isValid || connectedPart.position.distanceTo(position) > MAX_CONNECTION_DISTANCE){
 						updateNearestPart();
 					}
 				}
@@ -51,11 +52,13 @@ public abstract class ATileEntityLoader extends TileEntityDecor{
 	
 	protected void updateNearestPart(){
 		PartInteractable nearestPart = null;
-		double nearestDistance = 999;
+		double nearestDistance = MAX_CONNECTION_DISTANCE;
 		if(canOperate()){
-			for(PartInteractable interactablePart : world.getEntitiesOfType(PartInteractable.class)){
+			for(PartInteractable interactablePart : world.getEntitiesOfTypeWithin(PartInteractable.class, position, MAX_CONNECTION_DISTANCE)){
 				if(canLoadPart(interactablePart)){
-					if(interactablePart.position.distanceTo(position) < nearestDistance){
+					double partDistance = interactablePart.position.distanceTo(position);
+					if(partDistance < nearestDistance){
+						nearestDistance = partDistance;
 						nearestPart = interactablePart;
 					}
 				}
@@ -180,7 +180,7 @@ public class TileEntityFuelPump extends TileEntityDecor implements ITileEntityFl
 			//Get the closest vehicle within a 16-block radius.
 			EntityVehicleF_Physics nearestVehicle = null;
 			double lowestDistance = 16D;
-			for(EntityVehicleF_Physics testVehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)){
+			for(EntityVehicleF_Physics testVehicle : world.getEntitiesOfTypeWithin(EntityVehicleF_Physics.class, position, lowestDistance)){
 				double vehicleDistance = testVehicle.position.distanceTo(position);
 				if(vehicleDistance < lowestDistance){
 					lowestDistance = vehicleDistance;
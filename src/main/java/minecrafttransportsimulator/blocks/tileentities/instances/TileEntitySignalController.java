@@ -355,7 +355,9 @@ public class TileEntitySignalController extends TileEntityDecor{
 									//Just wait until the other signals don't have any cooldown, then set them red.
 									stateChangeRequested = true;
 								}else{
-									for(EntityVehicleF_Physics vehicle : world.getEntitiesOfType(EntityVehicleF_Physics.class)){
+									//Only check vehicles that could be in the bounds.  These are no further from the center than the far corner of the bounds.
+									double searchRadius = Math.hypot(Math.abs(signalLineCenter.x) + signalLineWidth/2D, Math.abs(signalLineCenter.z) + 16);
+									for(EntityVehicleF_Physics vehicle : world.getEntitiesOfTypeWithin(EntityVehicleF_Physics.class, intersectionCenterPoint, searchRadius)){
 										Point3d adjustedPos = vehicle.position.copy().subtract(intersectionCenterPoint).rotateY(-axis.yRotation);
 										if(adjustedPos.x > signalLineCenter.x - signalLineWidth/2D && adjustedPos.x < signalLineCenter.x + signalLineWidth/2D && adjustedPos.z > signalLineCenter.z && adjustedPos.z < signalLineCenter.z + 16){
 											//Vehicle present.  If we are blocked, send the respective signal states to the other signals to change them.
@@ -5,6 +5,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -36,7 +37,9 @@ import minecrafttransportsimulator.mcinterface.WrapperWorld;
 import minecrafttransportsimulator.packets.instances.PacketEntityVariableIncrement;
 import minecrafttransportsimulator.packets.instances.PacketEntityVariableSet;
 import minecrafttransportsimulator.packets.instances.PacketEntityVariableToggle;
+import minecrafttransportsimulator.rendering.components.AnimationInputTracker;
 import minecrafttransportsimulator.rendering.components.DurationDelayClock;
+import minecrafttransportsimulator.rendering.components.TextFormat;
 import minecrafttransportsimulator.sound.SoundInstance;
 import minecrafttransportsimulator.systems.CameraSystem;
 import minecrafttransportsimulator.systems.ConfigSystem;
@@ -62,8 +65,28 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 	/**Map containing text lines for saved text provided by this entity.**/
 	public final LinkedHashMap<JSONText, String> text = new LinkedHashMap<JSONText, String>();
 	
-	/**Map of variables.  These are generic and can be interfaced with in the JSON.  Some names are hard-coded to specific variables.Used for animations/physics.**/
-	protected final Map<String, Double> variables = new HashMap<String, Double>();
+	/**Formatting buffers for variable-based text, so they don't need to create new Strings every call.**/
+	private final Map<JSONText, TextFormat.Buffer> textFormatBuffers = new HashMap<JSONText, TextFormat.Buffer>();
+	
+	/**Values of variables, indexed by their {@link VariableRegistry} handle.  These are generic and can be interfaced with in the JSON.  
+	 * Some names are hard-coded to specific variables.  Used for animations/physics.  A value of 0 means the variable is not set.**/
+	private double[] variables = new double[VariableRegistry.getCount()];
+	
+	/**Max number of variables that can be in {@link #unregisteredVariables}.**/
+	private static final int MAX_UNREGISTERED_VARIABLES = 64;
+	/**Values of variables whose names aren't in the {@link VariableRegistry}.  Names from packets and saved data go here rather than
+	 * being registered, as they could be anything, and registering them would grow the variables of every entity.**/
+	private final Map<String, Double> unregisteredVariables = new HashMap<String, Double>();
+	
+	/**Cache of raw variable values, indexed by {@link VariableRegistry} handle.  A value is valid if its generation matches
+	 * {@link #variableCacheGeneration}, which is bumped any time the tick, partial ticks, or our variables change.**/
+	private double[] variableCacheValues = new double[0];
+	private int[] variableCacheGenerations = new int[0];
+	private int variableCacheGeneration = 1;
+	private long variableCacheTick = -1;
+	private float variableCachePartialTicks = -1;
+	private long variableCacheHits;
+	private long variableCacheMisses;
 	
 	private final List<JSONSound> allSoundDefs = new ArrayList<JSONSound>();
 	private final Map<JSONSound, List<DurationDelayClock>> soundActiveClocks = new HashMap<JSONSound, List<DurationDelayClock>>();
@@ -72,6 +95,11 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 	private final Map<JSONLight, List<DurationDelayClock>> lightBrightnessClocks = new HashMap<JSONLight, List<DurationDelayClock>>();
 	private final Map<JSONParticle, List<DurationDelayClock>> particleActiveClocks = new HashMap<JSONParticle, List<DurationDelayClock>>();
 	private final Map<JSONParticle, Long> lastTickParticleSpawned = new HashMap<JSONParticle, Long>();
+	private final Map<JSONSound, AnimationInputTracker> soundActiveTrackers = new HashMap<JSONSound, AnimationInputTracker>();
+	private final Map<JSONSound, AnimationInputTracker> soundVolumeTrackers = new HashMap<JSONSound, AnimationInputTracker>();
+	private final Map<JSONSound, AnimationInputTracker> soundPitchTrackers = new HashMap<JSONSound, AnimationInputTracker>();
+	private final Map<JSONLight, AnimationInputTracker> lightBrightnessTrackers = new HashMap<JSONLight, AnimationInputTracker>();
+	private final Map<JSONParticle, AnimationInputTracker> particleActiveTrackers = new HashMap<JSONParticle, AnimationInputTracker>();
 	
 	/**Maps animations to their respective clocks.  Used for anything that has an animation block.**/
 	public final Map<JSONAnimationDefinition, DurationDelayClock> animationClocks = new HashMap<JSONAnimationDefinition, DurationDelayClock>();
@@ -105,16 +133,16 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 		
 		//Load variables.
 		for(String variableName : data.getStrings("variables")){
-			variables.put(variableName, data.getDouble(variableName));
+			setVariableWithoutRegistering(variableName, data.getDouble(variableName));
 		}
 		if(newlyCreated && definition.rendering != null && definition.rendering.initialVariables != null){
 			for(String variable : definition.rendering.initialVariables){
-				variables.put(variable, 1D);
+				setVariable(variable, 1);
 			}
 		}
 		if(definition.rendering != null && definition.rendering.constants != null){
 			for(String variable : definition.rendering.constants){
-				variables.put(variable, 1D);
+				setVariable(variable, 1);
 			}
 		}
 	}
@@ -128,7 +156,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 		//Add constants.
 		if(definition.rendering != null && definition.rendering.constants != null){
 			for(String variable : definition.rendering.constants){
-				variables.put(variable, 1D);
+				setVariable(variable, 1);
 			}
 		}
 	}
@@ -167,6 +195,9 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 		soundActiveClocks.clear();
 		soundVolumeClocks.clear();
 		soundPitchClocks.clear();
+		soundActiveTrackers.clear();
+		soundVolumeTrackers.clear();
+		soundPitchTrackers.clear();
 		if(definition.rendering != null && definition.rendering.sounds != null){
 			for(JSONSound soundDef : definition.rendering.sounds){
 				allSoundDefs.add(soundDef);
@@ -178,6 +209,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 					}
 				}
 				soundActiveClocks.put(soundDef, activeClocks);
+				soundActiveTrackers.put(soundDef, new AnimationInputTracker(activeClocks));
 				
 				List<DurationDelayClock> volumeClocks = new ArrayList<DurationDelayClock>();
 				if(soundDef.volumeAnimations !=  null){
@@ -186,6 +218,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 					}
 				}
 				soundVolumeClocks.put(soundDef, volumeClocks);
+				soundVolumeTrackers.put(soundDef, new AnimationInputTracker(volumeClocks));
 				
 				List<DurationDelayClock> pitchClocks = new ArrayList<DurationDelayClock>();
 				if(soundDef.pitchAnimations != null){
@@ -194,10 +227,12 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 					}
 				}
 				soundPitchClocks.put(soundDef, pitchClocks);
+				soundPitchTrackers.put(soundDef, new AnimationInputTracker(pitchClocks));
 			}
 		}
 		
 		lightBrightnessClocks.clear();
+		lightBrightnessTrackers.clear();
 		lightBrightnessValues.clear();
 		lightColorValues.clear();
 		lightObjectDefinitions.clear();
@@ -211,12 +246,14 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 					}
 				}
 				lightBrightnessClocks.put(lightDef, lightClocks);
+				lightBrightnessTrackers.put(lightDef, new AnimationInputTracker(lightClocks));
 				lightBrightnessValues.put(lightDef, 0F);
 				lightColorValues.put(lightDef, new ColorRGB());
 			}
 		}
 		
 		particleActiveClocks.clear();
+		particleActiveTrackers.clear();
 		if(definition.rendering != null && definition.rendering.particles != null){
 			for(JSONParticle particleDef : definition.rendering.particles){
 				List<DurationDelayClock> activeClocks = new ArrayList<DurationDelayClock>();
@@ -226,6 +263,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 					}
 				}
 				particleActiveClocks.put(particleDef, activeClocks);
+				particleActiveTrackers.put(particleDef, new AnimationInputTracker(activeClocks));
 				lastTickParticleSpawned.put(particleDef, ticksExisted);
 			}
 		}
@@ -258,6 +296,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 		List<String> oldTextValues = new ArrayList<String>();
 		oldTextValues.addAll(text.values());
 		text.clear();
+		textFormatBuffers.clear();
 		if(definition.rendering != null && definition.rendering.textObjects != null){
 			for(int i=0; i<definition.rendering.textObjects.size(); ++i){
 				if(i < oldTextValues.size()){
@@ -359,9 +398,13 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
     	for(Entry<JSONParticle, List<DurationDelayClock>> particleEntry : particleActiveClocks.entrySet()){
     		JSONParticle particleDef = particleEntry.getKey();
     		//Check if the particle should be spawned this tick.
+    		//If none of the inputs to the clocks changed, and none are moving, then the spawn state can't have changed.
+    		AnimationInputTracker tracker = particleActiveTrackers.get(particleDef);
     		boolean shouldParticleSpawn = true;
 			boolean anyClockMovedThisUpdate = false;
-			if(particleDef.activeAnimations != null){
+			if(!tracker.needsUpdate(this, partialTicks)){
+				shouldParticleSpawn = tracker.lastState;
+			}else if(particleDef.activeAnimations != null){
 				boolean inhibitAnimations = false;
 				for(DurationDelayClock clock : particleEntry.getValue()){
 					switch(clock.animation.animationType){
@@ -417,6 +460,7 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 					}
 				}
 			}
+			tracker.lastState = shouldParticleSpawn;
 			
 			//Make the particle spawn if able.
 			if(shouldParticleSpawn && (anyClockMovedThisUpdate || (particleDef.spawnEveryTick && ticksExisted > lastTickParticleSpawned.get(particleDef)))){
@@ -436,10 +480,15 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
    	 *  Updates the light brightness values contained in {@link #lightBrightnessValues}.  This is done
    	 *  every frame for all light definitions to prevent excess calculations caused by multiple
    	 *  lighting components for the light re-calculating the same value multiple times a frame.
-   	 *  An example of this is a light with a bean and flare component. 
+   	 *  An example of this is a light with a bean and flare component.  Lights whose variables
+   	 *  haven't changed since the last frame are skipped, as their values can't have changed.
    	 */
     public void updateLightBrightness(float partialTicks){
 		for(JSONLight lightDef : lightBrightnessClocks.keySet()){
+			if(!lightBrightnessTrackers.get(lightDef).needsUpdate(this, partialTicks)){
+				//Nothing this light uses has changed, so the last brightness and color are still valid.
+				continue;
+			}
 			boolean definedBrightness = false;
 			float lightLevel = 0.0F;
 			boolean inhibitAnimations = false;
@@ -539,43 +588,100 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 	 *  found, then the super() method should be called to return those as a default.
 	 */
 	public double getRawVariableValue(String variable, float partialTicks){
-		switch(variable){
-			case("tick"): return ticksExisted + partialTicks;
-			case("tick_sin"): return Math.sin(Math.toRadians(ticksExisted + partialTicks));
-			case("tick_cos"): return Math.cos(Math.toRadians(ticksExisted + partialTicks));
-			case("time"): return world.getTime();
-			case("rain_strength"): return (int) world.getRainStrength(position);
-			case("rain_sin"): {
+		//Resolve the handle and let the handle-based method do the work.
+		//Cycle variables may not be in the registry if they came from a hotloaded JSON, so add them if required.
+		int handle = findVariableHandle(variable);
+		if(handle == -1){
+			if(variable.endsWith("_cycle")){
+				handle = VariableRegistry.getHandle(variable);
+			}else{
+				//Didn't find a registered variable.  Return the un-registered one if we have it, or NaN if not.
+				Double value = unregisteredVariables.get(variable);
+				return value != null ? value : Double.NaN;
+			}
+		}
+		return getRawVariableValue(handle, partialTicks);
+	}
+	
+	/**
+	 *  Like {@link #getRawVariableValue(String, float)}, but takes a {@link VariableRegistry} handle.
+	 *  This handles the built-in and generic variables, so it should only be called once the 
+	 *  sub-classes have checked their own variables.
+	 */
+	protected final double getRawVariableValue(int handle, float partialTicks){
+		switch(handle){
+			case(VariableRegistry.TICK): return ticksExisted + partialTicks;
+			case(VariableRegistry.TICK_SIN): return Math.sin(Math.toRadians(ticksExisted + partialTicks));
+			case(VariableRegistry.TICK_COS): return Math.cos(Math.toRadians(ticksExisted + partialTicks));
+			case(VariableRegistry.TIME): return world.getTime();
+			case(VariableRegistry.RAIN_STRENGTH): return (int) world.getRainStrength(position);
+			case(VariableRegistry.RAIN_SIN): {
 				int rainStrength = (int) world.getRainStrength(position); 
 				return rainStrength > 0 ? Math.sin(rainStrength*Math.toRadians(360*(ticksExisted + partialTicks)/20))/2D + 0.5: 0;
 			}
-			case("rain_cos"): {
+			case(VariableRegistry.RAIN_COS): {
 				int rainStrength = (int) world.getRainStrength(position); 
 				return rainStrength > 0 ? Math.cos(rainStrength*Math.toRadians(360*(ticksExisted + partialTicks)/20))/2D + 0.5 : 0;
 			}	
-			case("light_sunlight"): return world.getLightBrightness(position, false);
-			case("light_total"): return world.getLightBrightness(position, true);
-			case("ground_distance"): return world.getHeight(position);
+			case(VariableRegistry.LIGHT_SUNLIGHT): return world.getLightBrightness(position, false);
+			case(VariableRegistry.LIGHT_TOTAL): return world.getLightBrightness(position, true);
+			case(VariableRegistry.GROUND_DISTANCE): return world.getHeight(position);
 		}
 		
 		//Check if this is a cycle variable.
-		if(variable.endsWith("_cycle")){
-			String[] parsedVariable = variable.split("_");
-			int offTime = Integer.valueOf(parsedVariable[0]);
-			int onTime = Integer.valueOf(parsedVariable[1]);
-			int totalTime = offTime + onTime + Integer.valueOf(parsedVariable[2]);
-			long timeInCycle = ticksExisted%totalTime;
-			return timeInCycle > offTime && timeInCycle - offTime < onTime ? 1 : 0;
+		int[] cycleTimes = VariableRegistry.getCycleTimes(handle);
+		if(cycleTimes != null){
+			long timeInCycle = ticksExisted%cycleTimes[2];
+			return timeInCycle > cycleTimes[0] && timeInCycle - cycleTimes[0] < cycleTimes[1] ? 1 : 0;
 		}
 		
 		//Check if this is a generic variable.  This contains lights in most cases.
-		Double variableValue = variables.get(variable);
-		if(variableValue != null){
-			return variableValue;
+		//Variables that are not set return NaN, not 0.
+		double variableValue = getVariable(handle);
+		return variableValue != 0 ? variableValue : Double.NaN;
+	}
+	
+	/**
+	 *  Returns the value of {@link #getRawVariableValue(String, float)} for the passed-in variable, using the
+	 *  value cached for the current tick and partial ticks if one exists.  This prevents multiple objects that
+	 *  animate on the same variable from re-calculating it every frame.  The cache is cleared any time the 
+	 *  tick, the partial ticks, or any variables on this entity change.
+	 */
+	public final double getCachedVariableValue(String variable, int handle, float partialTicks){
+		if(ticksExisted != variableCacheTick || partialTicks != variableCachePartialTicks){
+			variableCacheTick = ticksExisted;
+			variableCachePartialTicks = partialTicks;
+			++variableCacheGeneration;
 		}
-		
-		//Didn't find a variable.  Return NaN.
-		return Double.NaN;
+		if(handle >= variableCacheGenerations.length){
+			int newLength = Math.max(handle + 1, VariableRegistry.getCount());
+			variableCacheValues = Arrays.copyOf(variableCacheValues, newLength);
+			variableCacheGenerations = Arrays.copyOf(variableCacheGenerations, newLength);
+		}
+		if(variableCacheGenerations[handle] == variableCacheGeneration){
+			++variableCacheHits;
+			return variableCacheValues[handle];
+		}else{
+			++variableCacheMisses;
+			double value = getRawVariableValue(variable, partialTicks);
+			variableCacheValues[handle] = value;
+			variableCacheGenerations[handle] = variableCacheGeneration;
+			return value;
+		}
+	}
+	
+	/**
+	 *  Returns the number of times {@link #getCachedVariableValue(String, int, float)} was able to use a cached value.
+	 */
+	public long getVariableCacheHits(){
+		return variableCacheHits;
+	}
+	
+	/**
+	 *  Returns the number of times {@link #getCachedVariableValue(String, int, float)} had to calculate a value.
+	 */
+	public long getVariableCacheMisses(){
+		return variableCacheMisses;
 	}
 	
 	/**
@@ -594,21 +700,11 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 	 *  the scale parameter as only the variable value should be scaled, not the offset..
 	 */
 	public final double getAnimatedVariableValue(DurationDelayClock clock, double scaleFactor, double offset, float partialTicks){
-		double value;
-		if(clock.animation.variable.startsWith("!")){
-			value = getRawVariableValue(clock.animation.variable.substring(1), partialTicks);
-			value = (value == 0 || Double.isNaN(value)) ? 1 : 0;
-		}else{
-			value = getRawVariableValue(clock.animation.variable, partialTicks);
-			if(Double.isNaN(value)){
-				value = 0;
-			}
-		}
-		if(!clock.isUseful){
-			return clampAndScale(value, clock.animation, scaleFactor, offset);
-		}else{
-			return clampAndScale(clock.getFactoredState(this, value, partialTicks), clock.animation, scaleFactor, offset);
+		double value = clock.expression.getVariableValue(this, partialTicks);
+		if(clock.isUseful){
+			value = clock.getFactoredState(this, value, partialTicks);
 		}
+		return clock.expression.clampAndScale(value, scaleFactor, offset);
 	}
 	
 	/**
@@ -627,29 +723,21 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 		return getAnimatedVariableValue(clock, 1.0, 0.0, partialTicks);
 	}
 	
-	/**
-	 *  Helper method to clamp and scale the passed-in variable value based on the passed-in animation, 
-	 *  returning it in the proper form.
-	 */
-	private static double clampAndScale(double value, JSONAnimationDefinition animation, double scaleFactor, double offset){
-		if(animation.axis != null){
-			value = (animation.absolute ? Math.abs(value) : value)*scaleFactor + animation.offset + offset;
-			if(animation.clampMin != 0 && value < animation.clampMin){
-				value = animation.clampMin;
-			}else if(animation.clampMax != 0 && value > animation.clampMax){
-				value = animation.clampMax;
-			}
-			return value;
-		}else{
-			return (animation.absolute ? Math.abs(value) : value)*scaleFactor + animation.offset;
-		}
-	}
-	
 	/**
 	 *  Returns the value for the passed-in variable, subject to the formatting and factoring in the 
-	 *  text definition.
+	 *  text definition.  If the formatted value hasn't changed since the last call, the same
+	 *  String object is returned.
 	 */
 	public final String getAnimatedTextVariableValue(JSONText textDef, float partialTicks){
+		if(textDef.compiledFormat == null){
+			textDef.compiledFormat = new TextFormat(textDef.variableFormat);
+		}
+		TextFormat.Buffer textBuffer = textFormatBuffers.get(textDef);
+		if(textBuffer == null){
+			textBuffer = new TextFormat.Buffer();
+			textFormatBuffers.put(textDef, textBuffer);
+		}
+		
 		//Check text values first, then anmiated values.
 		String value = getRawTextVariableValue(textDef, 0);
 		if(value == null){
@@ -657,9 +745,9 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 			if(Double.isNaN(numberValue)){
 				numberValue = 0;
 			}
-			return String.format(textDef.variableFormat, numberValue*textDef.variableFactor);
+			return textDef.compiledFormat.format(numberValue*textDef.variableFactor, textBuffer);
 		}else{
-			return String.format(textDef.variableFormat, value);
+			return textDef.compiledFormat.format(value, textBuffer);
 		}
 	}
 	
@@ -670,8 +758,13 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 	 *  define a number, then -1 is returned.
 	 */
 	public static int getVariableNumber(String variable){
-		if(variable.matches("^.*_[0-9]+$")){
-			return Integer.parseInt(variable.substring(variable.lastIndexOf('_') + 1)) - 1;
+		//Scan back from the end for the digits rather than use a regex, as this gets called a lot.
+		int index = variable.length() - 1;
+		while(index >= 0 && variable.charAt(index) >= '0' && variable.charAt(index) <= '9'){
+			--index;
+		}
+		if(index >= 0 && index < variable.length() - 1 && variable.charAt(index) == '_'){
+			return Integer.parseInt(variable.substring(index + 1)) - 1;
 		}else{
 			return -1;
 		}
@@ -681,11 +774,14 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 	 *  Helper method to toggle a variable for this entity.
 	 */
 	public void toggleVariable(String variable){
-		//Try to remove the variable,this requires only one key-search operation, unlike a containsKey followed by a remove.
-		if(variables.remove(variable) == null){
-			//No key was in this map prior, so this variable was off, set it on.
-			variables.put(variable, 1D);
-		}
+		toggleVariable(registerVariable(variable));
+	}
+	
+	/**
+	 *  Like {@link #toggleVariable(String)}, but takes a {@link VariableRegistry} handle.
+	 */
+	public void toggleVariable(int handle){
+		setVariable(handle, getVariable(handle) == 0 ? 1 : 0);
 	}
 	
 	/**
@@ -693,10 +789,91 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 	 */
 	public void setVariable(String variable, double value){
 		if(value == 0){
-			//Remove variable from the map so we don't have as many to deal with.
-			variables.remove(variable);
+			//Don't register the variable just to un-set it.
+			setVariableWithoutRegistering(variable, 0);
 		}else{
-			variables.put(variable, value);
+			setVariable(registerVariable(variable), value);
+		}
+	}
+	
+	/**
+	 *  Like {@link #setVariable(String, double)}, but doesn't add the variable to the {@link VariableRegistry}.
+	 *  Variables that aren't registered are stored on just this entity, up to a limit.  Use this for names that
+	 *  could be anything, such as those from packets or saved data, rather than names that are known to be real variables.
+	 */
+	public void setVariableWithoutRegistering(String variable, double value){
+		int handle = findVariableHandle(variable);
+		if(handle != -1){
+			setVariable(handle, value);
+		}else if(value == 0){
+			if(unregisteredVariables.remove(variable) != null){
+				++variableCacheGeneration;
+			}
+		}else if(unregisteredVariables.size() < MAX_UNREGISTERED_VARIABLES || unregisteredVariables.containsKey(variable)){
+			unregisteredVariables.put(variable, value);
+			++variableCacheGeneration;
+		}
+	}
+	
+	/**
+	 *  Like {@link #toggleVariable(String)}, but doesn't add the variable to the {@link VariableRegistry}.
+	 *  See {@link #setVariableWithoutRegistering(String, double)}.
+	 */
+	public void toggleVariableWithoutRegistering(String variable){
+		setVariableWithoutRegistering(variable, getVariable(variable) == 0 ? 1 : 0);
+	}
+	
+	/**
+	 *  Returns the handle for the passed-in variable, registering it if it doesn't yet exist.
+	 *  If this entity has a value for the variable from before it was registered, that value is moved to the handle.
+	 */
+	private int registerVariable(String variable){
+		int handle = VariableRegistry.getHandle(variable);
+		moveUnregisteredVariable(variable, handle);
+		return handle;
+	}
+	
+	/**
+	 *  Returns the handle for the passed-in variable, or -1 if it was never registered.
+	 *  If this entity has a value for the variable from before it was registered, that value is moved to the handle.
+	 */
+	private int findVariableHandle(String variable){
+		int handle = VariableRegistry.findHandle(variable);
+		if(handle != -1){
+			moveUnregisteredVariable(variable, handle);
+		}
+		return handle;
+	}
+	
+	/**
+	 *  Moves the value of the passed-in un-registered variable to the passed-in handle, if we have one.
+	 *  This happens if the variable was registered by something else after the value was set on us.
+	 */
+	private void moveUnregisteredVariable(String variable, int handle){
+		if(!unregisteredVariables.isEmpty()){
+			Double value = unregisteredVariables.remove(variable);
+			if(value != null){
+				setVariable(handle, value);
+			}
+		}
+	}
+	
+	/**
+	 *  Like {@link #setVariable(String, double)}, but takes a {@link VariableRegistry} handle.
+	 */
+	public void setVariable(int handle, double value){
+		if(handle >= variables.length){
+			if(value == 0){
+				//Array doesn't cover this variable, so it's already 0.
+				return;
+			}
+			//Registry has grown since we were created, expand to cover it.
+			variables = Arrays.copyOf(variables, Math.max(handle + 1, VariableRegistry.getCount()));
+		}
+		if(variables[handle] != value){
+			variables[handle] = value;
+			//Cached values may depend on this variable, so they are no longer valid.
+			++variableCacheGeneration;
 		}
 	}
 	
@@ -704,21 +881,50 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 	 *  Helper method to get get a variable for this entity.
 	 */
 	public double getVariable(String variable){
-		Double value = variables.get(variable);
-		if(value == null){
-			//Don't add the variable to the map, just return 0 here.
-			return 0;
+		int handle = findVariableHandle(variable);
+		if(handle != -1){
+			return getVariable(handle);
 		}else{
-			return value;
+			//Don't add the variable to the registry, just return the un-registered value, or 0 if we don't have it.
+			Double value = unregisteredVariables.get(variable);
+			return value != null ? value : 0;
 		}
 	}
 	
+	/**
+	 *  Like {@link #getVariable(String)}, but takes a {@link VariableRegistry} handle.
+	 */
+	public double getVariable(int handle){
+		return handle < variables.length ? variables[handle] : 0;
+	}
+	
 	/**
 	 *  Helper method to check if a variable is non-zero.
-	 *  This is a bit quicker than getting the value due to auto-boxing off the map.
 	 */
 	public boolean isVariableActive(String variable){
-		return variables.containsKey(variable);
+		return getVariable(variable) != 0;
+	}
+	
+	/**
+	 *  Like {@link #isVariableActive(String)}, but takes a {@link VariableRegistry} handle.
+	 */
+	public boolean isVariableActive(int handle){
+		return getVariable(handle) != 0;
+	}
+	
+	/**
+	 *  Returns the names of all variables that are currently set on this entity.
+	 *  This walks the entire value array, so don't call it every tick.
+	 */
+	public List<String> getActiveVariables(){
+		List<String> activeVariables = new ArrayList<String>();
+		for(int handle=0; handle<variables.length; ++handle){
+			if(variables[handle] != 0){
+				activeVariables.add(VariableRegistry.getName(handle));
+			}
+		}
+		activeVariables.addAll(unregisteredVariables.keySet());
+		return activeVariables;
 	}
     
     @Override
@@ -734,58 +940,65 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 				boolean anyClockMovedThisUpdate = false;
 				boolean inhibitAnimations = false;
 				if(shouldSoundPlay){
-					for(DurationDelayClock clock : soundActiveClocks.get(soundDef)){
-						switch(clock.animation.animationType){
-							case VISIBILITY :{
-								//We use the clock here to check if the state of the variable changed, not
-								//to clamp the value used in the testing.
-								if(!inhibitAnimations){
-									double variableValue = getAnimatedVariableValue(clock, partialTicks);
-									if(!anyClockMovedThisUpdate){
-										anyClockMovedThisUpdate = clock.movedThisUpdate;
-									}
-									if(variableValue < clock.animation.clampMin || variableValue > clock.animation.clampMax){
-										shouldSoundPlay = false;
+					//If none of the inputs to the clocks changed, and none are moving, then the state is the same as last check.
+					AnimationInputTracker activeTracker = soundActiveTrackers.get(soundDef);
+					if(!activeTracker.needsUpdate(this, partialTicks)){
+						shouldSoundPlay = activeTracker.lastState;
+					}else{
+						for(DurationDelayClock clock : soundActiveClocks.get(soundDef)){
+							switch(clock.animation.animationType){
+								case VISIBILITY :{
+									//We use the clock here to check if the state of the variable changed, not
+									//to clamp the value used in the testing.
+									if(!inhibitAnimations){
+										double variableValue = getAnimatedVariableValue(clock, partialTicks);
+										if(!anyClockMovedThisUpdate){
+											anyClockMovedThisUpdate = clock.movedThisUpdate;
+										}
+										if(variableValue < clock.animation.clampMin || variableValue > clock.animation.clampMax){
+											shouldSoundPlay = false;
+										}
 									}
+									break;
 								}
-								break;
-							}
-							case INHIBITOR :{
-								if(!inhibitAnimations){
-									double variableValue = getAnimatedVariableValue(clock, partialTicks);
-									if(variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax){
-										inhibitAnimations = true;
+								case INHIBITOR :{
+									if(!inhibitAnimations){
+										double variableValue = getAnimatedVariableValue(clock, partialTicks);
+										if(variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax){
+											inhibitAnimations = true;
+										}
 									}
+									break;
 								}
-								break;
-							}
-							case ACTIVATOR :{
-								if(inhibitAnimations){
-									double variableValue = getAnimatedVariableValue(clock, partialTicks);
-									if(variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax){
-										inhibitAnimations = false;
+								case ACTIVATOR :{
+									if(inhibitAnimations){
+										double variableValue = getAnimatedVariableValue(clock, partialTicks);
+										if(variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax){
+											inhibitAnimations = false;
+										}
 									}
+									break;
+								}
+								case TRANSLATION :{
+									//Do nothing.
+									break;
+								}
+								case ROTATION :{
+									//Do nothing.
+									break;
+								}
+								case SCALING :{
+									//Do nothing.
+									break;
 								}
-								break;
-							}
-							case TRANSLATION :{
-								//Do nothing.
-								break;
-							}
-							case ROTATION :{
-								//Do nothing.
-								break;
 							}
-							case SCALING :{
-								//Do nothing.
+							
+							if(!shouldSoundPlay){
+								//Don't need to process any further as we can't play.
 								break;
 							}
 						}
-						
-						if(!shouldSoundPlay){
-							//Don't need to process any further as we can't play.
-							break;
-						}
+						activeTracker.lastState = shouldSoundPlay;
 					}
 				}
 				
@@ -830,60 +1043,65 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 					if(sound.soundName.equals(soundDef.name)){
 						if(sound != null){
 							//Adjust volume.
-							boolean definedVolume = false;
-							inhibitAnimations = false;
-							sound.volume = 0;
-							for(DurationDelayClock clock : soundVolumeClocks.get(soundDef)){
-								switch(clock.animation.animationType){
-									case TRANSLATION :{
-										if(!inhibitAnimations){
-											definedVolume = true;
-											sound.volume += getAnimatedVariableValue(clock, clock.animation.axis.y, partialTicks);
+							AnimationInputTracker volumeTracker = soundVolumeTrackers.get(soundDef);
+							if(volumeTracker.needsUpdate(this, partialTicks)){
+								float volume = 0;
+								boolean definedVolume = false;
+								inhibitAnimations = false;
+								for(DurationDelayClock clock : soundVolumeClocks.get(soundDef)){
+									switch(clock.animation.animationType){
+										case TRANSLATION :{
+											if(!inhibitAnimations){
+												definedVolume = true;
+												volume += getAnimatedVariableValue(clock, clock.animation.axis.y, partialTicks);
+											}
+											break;
 										}
-										break;
-									}
-									case ROTATION :{
-										if(!inhibitAnimations){
-											definedVolume = true;
-											//Parobola is defined with parameter A being x, and H being z.
-											double parabolaValue = getAnimatedVariableValue(clock, clock.animation.axis.y, -clock.animation.offset, partialTicks);
-											sound.volume += clock.animation.axis.x*Math.pow(parabolaValue - clock.animation.axis.z, 2) + clock.animation.offset;
+										case ROTATION :{
+											if(!inhibitAnimations){
+												definedVolume = true;
+												//Parobola is defined with parameter A being x, and H being z.
+												double parabolaValue = getAnimatedVariableValue(clock, clock.animation.axis.y, -clock.animation.offset, partialTicks);
+												volume += clock.animation.axis.x*Math.pow(parabolaValue - clock.animation.axis.z, 2) + clock.animation.offset;
+											}
+											break;
 										}
-										break;
-									}
-									case INHIBITOR :{
-										if(!inhibitAnimations){
-											double variableValue = getAnimatedVariableValue(clock, partialTicks);
-											if(variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax){
-												inhibitAnimations = true;
+										case INHIBITOR :{
+											if(!inhibitAnimations){
+												double variableValue = getAnimatedVariableValue(clock, partialTicks);
+												if(variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax){
+													inhibitAnimations = true;
+												}
 											}
+											break;
 										}
-										break;
-									}
-									case ACTIVATOR :{
-										if(inhibitAnimations){
-											double variableValue = getAnimatedVariableValue(clock, partialTicks);
-											if(variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax){
-												inhibitAnimations = false;
+										case ACTIVATOR :{
+											if(inhibitAnimations){
+												double variableValue = getAnimatedVariableValue(clock, partialTicks);
+												if(variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax){
+													inhibitAnimations = false;
+												}
 											}
+											break;
+										}
+										case SCALING :{
+											//Do nothing.
+											break;
+										}
+										case VISIBILITY :{
+											//Do nothing.
+											break;
 										}
-										break;
-									}
-									case SCALING :{
-										//Do nothing.
-										break;
-									}
-									case VISIBILITY :{
-										//Do nothing.
-										break;
 									}
 								}
+								if(!definedVolume){
+									volume = 1;
+								}else if(volume < 0){
+									volume = 0;
+								}
+								volumeTracker.lastValue = volume;
 							}
-							if(!definedVolume){
-								sound.volume = 1;
-							}else if(sound.volume < 0){
-								sound.volume = 0;
-							}
+							sound.volume = (float) volumeTracker.lastValue;
 							
 							//If the player is in a closed-top vehicle that isn't this one, dampen the sound
 							//Unless it's a radio, in which case don't do so.
@@ -892,60 +1110,65 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 							}
 							
 							//Adjust pitch.
-							boolean definedPitch = false;
-							inhibitAnimations = false;
-							sound.pitch = 0;
-							for(DurationDelayClock clock : soundPitchClocks.get(soundDef)){
-								switch(clock.animation.animationType){
-									case TRANSLATION :{
-										if(!inhibitAnimations){
-											definedPitch = true;
-											sound.pitch += getAnimatedVariableValue(clock, clock.animation.axis.y, partialTicks);
+							AnimationInputTracker pitchTracker = soundPitchTrackers.get(soundDef);
+							if(pitchTracker.needsUpdate(this, partialTicks)){
+								float pitch = 0;
+								boolean definedPitch = false;
+								inhibitAnimations = false;
+								for(DurationDelayClock clock : soundPitchClocks.get(soundDef)){
+									switch(clock.animation.animationType){
+										case TRANSLATION :{
+											if(!inhibitAnimations){
+												definedPitch = true;
+												pitch += getAnimatedVariableValue(clock, clock.animation.axis.y, partialTicks);
+											}
+											break;
 										}
-										break;
-									}
-									case ROTATION :{
-										if(!inhibitAnimations){
-											definedPitch = true;
-											//Parobola is defined with parameter A being x, and H being z.
-											double parabolaValue = getAnimatedVariableValue(clock, clock.animation.axis.y, -clock.animation.offset, partialTicks);
-											sound.pitch += clock.animation.axis.x*Math.pow(parabolaValue - clock.animation.axis.z, 2) + clock.animation.offset;
+										case ROTATION :{
+											if(!inhibitAnimations){
+												definedPitch = true;
+												//Parobola is defined with parameter A being x, and H being z.
+												double parabolaValue = getAnimatedVariableValue(clock, clock.animation.axis.y, -clock.animation.offset, partialTicks);
+												pitch += clock.animation.axis.x*Math.pow(parabolaValue - clock.animation.axis.z, 2) + clock.animation.offset;
+											}
+											break;
 										}
-										break;
-									}
-									case INHIBITOR :{
-										if(!inhibitAnimations){
-											double variableValue = getAnimatedVariableValue(clock, partialTicks);
-											if(variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax){
-												inhibitAnimations = true;
+										case INHIBITOR :{
+											if(!inhibitAnimations){
+												double variableValue = getAnimatedVariableValue(clock, partialTicks);
+												if(variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax){
+													inhibitAnimations = true;
+												}
 											}
+											break;
 										}
-										break;
-									}
-									case ACTIVATOR :{
-										if(inhibitAnimations){
-											double variableValue = getAnimatedVariableValue(clock, partialTicks);
-											if(variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax){
-												inhibitAnimations = false;
+										case ACTIVATOR :{
+											if(inhibitAnimations){
+												double variableValue = getAnimatedVariableValue(clock, partialTicks);
+												if(variableValue >= clock.animation.clampMin && variableValue <= clock.animation.clampMax){
+													inhibitAnimations = false;
+												}
 											}
+											break;
+										}
+										case SCALING :{
+											//Do nothing.
+											break;
+										}
+										case VISIBILITY :{
+											//Do nothing.
+											break;
 										}
-										break;
-									}
-									case SCALING :{
-										//Do nothing.
-										break;
-									}
-									case VISIBILITY :{
-										//Do nothing.
-										break;
 									}
 								}
+								if(!definedPitch){
+									pitch = 1;
+								}else if(pitch < 0){
+									pitch = 0;
+								}
+								pitchTracker.lastValue = pitch;
 							}
-							if(!definedPitch){
-								sound.pitch = 1;
-							}else if(sound.pitch < 0){
-								sound.pitch = 0;
-							}
+							sound.pitch = (float) pitchTracker.lastValue;
 						}						
 					}
 				}
@@ -963,9 +1186,10 @@ public abstract class AEntityD_Definable<JSONDefinition extends AJSONMultiModelP
 		for(String textLine : text.values()){
 			data.setString("textLine" + lineNumber++, textLine);
 		}
-		data.setStrings("variables", variables.keySet());
-		for(String variableName : variables.keySet()){
-			data.setDouble(variableName, variables.get(variableName));
+		List<String> activeVariables = getActiveVariables();
+		data.setStrings("variables", activeVariables);
+		for(String variableName : activeVariables){
+			data.setDouble(variableName, getVariable(variableName));
 		}
 		return data;
 	}
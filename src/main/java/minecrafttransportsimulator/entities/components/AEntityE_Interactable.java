@@ -30,6 +30,7 @@ import minecrafttransportsimulator.jsondefs.JSONInstrumentDefinition;
 import minecrafttransportsimulator.jsondefs.JSONVariableModifier;
 import minecrafttransportsimulator.mcinterface.InterfaceCore;
 import minecrafttransportsimulator.mcinterface.InterfacePacket;
+import minecrafttransportsimulator.mcinterface.InterfaceRender;
 import minecrafttransportsimulator.mcinterface.WrapperEntity;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperPlayer;
@@ -55,6 +56,15 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
 	 * added to their respective maps if they aren't active.**/
 	public final Map<JSONCollisionGroup, Set<BoundingBox>> definitionCollisionBoxes = new HashMap<JSONCollisionGroup, Set<BoundingBox>>();
 	private final Map<JSONCollisionGroup, List<DurationDelayClock>> collisionClocks = new HashMap<JSONCollisionGroup, List<DurationDelayClock>>();
+	/**Names and {@link VariableRegistry} handles of the damage variables for each collision group, in definition order.**/
+	private String[] collisionGroupDamageVariables;
+	private int[] collisionGroupDamageHandles;
+	/**True for each collision group whose boxes were active on the last update.  Used to only re-build the box sets when this changes.**/
+	private boolean[] collisionGroupsActive;
+	private boolean collisionGroupsNoclip;
+	/**Position and angles the boxes of static collision groups were last aligned to.  They only need updating if these change.**/
+	private final Point3d collisionBoxPosition = new Point3d();
+	private final Point3d collisionBoxAngles = new Point3d();
 	
 	/**List of bounding boxes that should be used to check collision of this entity with blocks.**/
 	public final Set<BoundingBox> blockCollisionBoxes = new HashSet<BoundingBox>();
@@ -134,6 +144,14 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
 	private TrailerConnection savedTowedByConnection;
 	private final Set<TrailerConnection> savedTowingConnections = new HashSet<TrailerConnection>();
 	public static final String TRAILER_CONNECTION_REQUEST_VARIABLE = "connection_requested";
+	private static final double MAX_TRAILER_CONNECTION_DISTANCE = 25;
+	
+	/**Target for variable modifiers that modify a generic variable via its handle.**/
+	protected static final int VARIABLE_MODIFIER_HANDLE = -1;
+	/**Target for variable modifiers that modify a generic variable by name, as the name may refer to another entity.**/
+	protected static final int VARIABLE_MODIFIER_NAMED = -2;
+	/**Targets for {@link AJSONInteractableEntity#variableModifiers}, in the same order.  Resolved once per definition.**/
+	private int[] variableModifierTargets;
 	
 	//Mutable variables.
 	private final Point3d collisionGroupAnimationResult = new Point3d();
@@ -205,11 +223,23 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
 	@Override
 	protected void initializeDefinition(){
 		super.initializeDefinition();
+		//Re-resolve variable modifier targets on next use, as the modifiers may have changed.
+		variableModifierTargets = null;
+		
 		//Create collision boxes.
 		definitionCollisionBoxes.clear();
 		collisionClocks.clear();
+		blockCollisionBoxes.clear();
+		entityCollisionBoxes.clear();
+		interactionBoxes.clear();
 		if(definition.collisionGroups != null){
-			for(JSONCollisionGroup groupDef : definition.collisionGroups){
+			collisionGroupDamageVariables = new String[definition.collisionGroups.size()];
+			collisionGroupDamageHandles = new int[definition.collisionGroups.size()];
+			collisionGroupsActive = new boolean[definition.collisionGroups.size()];
+			for(int i=0; i<definition.collisionGroups.size(); ++i){
+				JSONCollisionGroup groupDef = definition.collisionGroups.get(i);
+				collisionGroupDamageVariables[i] = "collision_" + (i + 1) + "_damage";
+				collisionGroupDamageHandles[i] = VariableRegistry.getHandle(collisionGroupDamageVariables[i]);
 				Set<BoundingBox> boxes = new HashSet<BoundingBox>();
 				for(JSONCollisionBox boxDef : groupDef.collisions){
 					boxes.add(new BoundingBox(boxDef, groupDef));
@@ -396,15 +426,27 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
 	
 	/**
    	 *  Updates the position of all collision boxes, and sets them in their appropriate maps based on their
-   	 *  properties, and animation state (if applicable). 
+   	 *  properties, and animation state (if applicable).  Groups without animations are static relative to
+   	 *  this entity, so their boxes are only re-aligned if this entity has moved or rotated since the last call.
+   	 *  The box sets are only re-built if a group was activated or de-activated since the last call.
    	 */
     protected void updateCollisionBoxes(){
-    	blockCollisionBoxes.clear();
-    	entityCollisionBoxes.clear();
-    	interactionBoxes.clear();
-    	
     	if(definition.collisionGroups != null){
-			for(JSONCollisionGroup groupDef : definition.collisionGroups){
+    		if(collisionGroupsActive == null || collisionGroupsActive.length != definition.collisionGroups.size()){
+    			//This can only happen if we hotloaded the definition due to devMode.
+				//Flag us as needing a reset, and then bail to prevent further collision checks.
+				animationsInitialized = false;
+				return;
+    		}
+    		boolean poseChanged = collisionBoxPosition.x != position.x || collisionBoxPosition.y != position.y || collisionBoxPosition.z != position.z || collisionBoxAngles.x != angles.x || collisionBoxAngles.y != angles.y || collisionBoxAngles.z != angles.z || (world.isClient() && InterfaceRender.shouldRenderBoundingBoxes());
+    		collisionBoxPosition.setTo(position);
+    		collisionBoxAngles.setTo(angles);
+    		boolean noclip = ConfigSystem.configObject.general.noclipVehicles.value;
+    		boolean groupsChanged = noclip != collisionGroupsNoclip;
+    		collisionGroupsNoclip = noclip;
+    		
+			for(int groupIndex=0; groupIndex<definition.collisionGroups.size(); ++groupIndex){
+				JSONCollisionGroup groupDef = definition.collisionGroups.get(groupIndex);
 				Set<BoundingBox> collisionBoxes = definitionCollisionBoxes.get(groupDef);
 				if(collisionBoxes == null){
 					//This can only happen if we hotloaded the definition due to devMode.
@@ -412,7 +454,8 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
 					animationsInitialized = false;
 					return;
 				}
-				if(groupDef.health == 0 || getVariable("collision_" + (definition.collisionGroups.indexOf(groupDef) + 1) + "_damage") < groupDef.health){
+				boolean groupActive = false;
+				if(groupDef.health == 0 || getVariable(collisionGroupDamageHandles[groupIndex]) < groupDef.health){
 					if(groupDef.animations != null){
 						boolean inhibitAnimations = false;
 						boolean inhibitCollision = false;
@@ -499,23 +542,42 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
 								collisionGroupAnimationResult.setTo(box.globalCenter).subtract(box.localCenter);
 								box.updateToEntity(this, collisionGroupAnimationResult);
 							}
-						}else{
-							//Don't let these boxes get added to the list.
-							continue;
+							groupActive = true;
 						}
 					}else{
-						for(BoundingBox box : collisionBoxes){
-							box.updateToEntity(this, null);
+						//Static group.  Boxes only need aligning if we moved, or if they weren't active last update and so weren't aligned.
+						if(poseChanged || !collisionGroupsActive[groupIndex]){
+							for(BoundingBox box : collisionBoxes){
+								box.updateToEntity(this, null);
+							}
 						}
+						groupActive = true;
 					}
-					entityCollisionBoxes.addAll(collisionBoxes);
-					if(!groupDef.isInterior && !ConfigSystem.configObject.general.noclipVehicles.value){
-						blockCollisionBoxes.addAll(collisionBoxes);
+				}
+				if(groupActive != collisionGroupsActive[groupIndex]){
+					collisionGroupsActive[groupIndex] = groupActive;
+					groupsChanged = true;
+				}
+			}
+			
+			//Re-build the box sets if any groups changed.
+			if(groupsChanged){
+				blockCollisionBoxes.clear();
+				entityCollisionBoxes.clear();
+				interactionBoxes.clear();
+				for(int groupIndex=0; groupIndex<definition.collisionGroups.size(); ++groupIndex){
+					if(collisionGroupsActive[groupIndex]){
+						JSONCollisionGroup groupDef = definition.collisionGroups.get(groupIndex);
+						Set<BoundingBox> collisionBoxes = definitionCollisionBoxes.get(groupDef);
+						entityCollisionBoxes.addAll(collisionBoxes);
+						if(!groupDef.isInterior && !noclip){
+							blockCollisionBoxes.addAll(collisionBoxes);
+						}
 					}
 				}
+				interactionBoxes.addAll(entityCollisionBoxes);
 			}
     	}
-    	interactionBoxes.addAll(entityCollisionBoxes);
     	
     	//Now get the encompassing box.
     	encompassingBox.widthRadius = 0;
@@ -527,19 +589,68 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
     		encompassingBox.depthRadius = (float) Math.max(encompassingBox.depthRadius, Math.abs(box.globalCenter.z - position.z + box.depthRadius));
     	}
     	encompassingBox.updateToEntity(this, null);
+    	world.updateEntityLocation(this);
     }
     
     /**
 	 * Called to update the variable modifiers for this entity.
 	 * By default, this will get any variables that {@link #getVariable(String)}
 	 * returns, but can be extended to do other variables specific to the entity.
+	 * Extending classes should return a target for those variables in {@link #getVariableModifierTarget(String)},
+	 * and then switch on the targets from {@link #getVariableModifierTargets()} rather than the variable names.
 	 */
 	protected void updateVariableModifiers(){
 		if(definition.variableModifiers != null){
-			for(JSONVariableModifier modifier : definition.variableModifiers){
-				setVariable(modifier.variable, adjustVariable(modifier, (float) getVariable(modifier.variable)));
+			int[] targets = getVariableModifierTargets();
+			for(int i=0; i<targets.length; ++i){
+				adjustGenericVariable(definition.variableModifiers.get(i), targets[i]);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the target for the passed-in variable modifier variable.  Targets are used in place of the
+	 * variable names when updating modifiers to avoid parsing the names every tick.  By default, this
+	 * returns {@link #VARIABLE_MODIFIER_HANDLE} for everything, but entities that have properties that
+	 * can be modified should return a non-negative number for them.
+	 */
+	protected int getVariableModifierTarget(String variable){
+		return VARIABLE_MODIFIER_HANDLE;
+	}
+	
+	/**
+	 * Returns the targets for the variable modifiers in the definition, in the same order as the modifiers.
+	 * These are resolved on the first call after the definition is initialized.
+	 */
+	protected final int[] getVariableModifierTargets(){
+		if(variableModifierTargets == null){
+			variableModifierTargets = new int[definition.variableModifiers.size()];
+			for(int i=0; i<variableModifierTargets.length; ++i){
+				JSONVariableModifier modifier = definition.variableModifiers.get(i);
+				if(modifier.variableHandle == -1){
+					modifier.variableHandle = VariableRegistry.getHandle(modifier.variable);
+				}
+				int target = getVariableModifierTarget(modifier.variable);
+				if(target == VARIABLE_MODIFIER_HANDLE && getVariableNumber(modifier.variable) != -1){
+					//Indexed variables may be forwarded to parts, so we need to use the name.
+					target = VARIABLE_MODIFIER_NAMED;
+				}
+				variableModifierTargets[i] = target;
 			}
 		}
+		return variableModifierTargets;
+	}
+	
+	/**
+	 * Helper method to adjust a generic variable for the passed-in modifier.  The target should be
+	 * {@link #VARIABLE_MODIFIER_HANDLE} or {@link #VARIABLE_MODIFIER_NAMED}; other targets are ignored.
+	 */
+	protected final void adjustGenericVariable(JSONVariableModifier modifier, int target){
+		if(target == VARIABLE_MODIFIER_HANDLE){
+			setVariable(modifier.variableHandle, adjustVariable(modifier, (float) getVariable(modifier.variableHandle)));
+		}else if(target == VARIABLE_MODIFIER_NAMED){
+			setVariable(modifier.variable, adjustVariable(modifier, (float) getVariable(modifier.variable)));
+		}
 	}
 	
 	 /**
@@ -796,12 +907,14 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
 	public void attack(Damage damage){
 		if(!damage.isWater){ 
 			if(definition.collisionGroups != null){
-				for(JSONCollisionGroup groupDef : definition.collisionGroups){
+				for(int groupIndex=0; groupIndex<definition.collisionGroups.size(); ++groupIndex){
+					JSONCollisionGroup groupDef = definition.collisionGroups.get(groupIndex);
 					Set<BoundingBox> collisionBoxes = definitionCollisionBoxes.get(groupDef);
 					if(collisionBoxes.contains(damage.box)){
 						if(groupDef.health != 0){
-							String variableName = "collision_" + (definition.collisionGroups.indexOf(groupDef) + 1) + "_damage";
-							double currentDamage = getVariable(variableName) + damage.amount;
+							String variableName = collisionGroupDamageVariables[groupIndex];
+							int variableHandle = collisionGroupDamageHandles[groupIndex];
+							double currentDamage = getVariable(variableHandle) + damage.amount;
 							if(currentDamage > groupDef.health){
 								double amountActuallyNeeded = damage.amount - (currentDamage - groupDef.health);
 								currentDamage = groupDef.health;
@@ -809,7 +922,7 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
 							}else{
 								InterfacePacket.sendToAllClients(new PacketEntityVariableIncrement(this, variableName, damage.amount));
 							}
-							setVariable(variableName, currentDamage);
+							setVariable(variableHandle, currentDamage);
 							return;
 						}
 					}
@@ -845,7 +958,7 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
 		
 		//First make sure the entity is in-range.  This is done by checking if the entity is even remotely close enough.
 		double trailerDistance = position.distanceTo(hookupEntity.position);
-		if(trailerDistance < 25){
+		if(trailerDistance < MAX_TRAILER_CONNECTION_DISTANCE){
 			//Check all connection groups on the other entity to see if we can connect to them.
 			//If we specified a index, skip all others.
 			if(definition.connectionGroups != null && !definition.connectionGroups.isEmpty() && hookupEntity.definition.connectionGroups != null && !hookupEntity.definition.connectionGroups.isEmpty()){
@@ -917,9 +1030,10 @@ public abstract class AEntityE_Interactable<JSONDefinition extends AJSONInteract
 		if(connect){
 			boolean matchingConnection = false;
 			boolean trailerInRange = false;
+			//Only entities within connection range can connect, so don't check anything further away.
 			List<AEntityE_Interactable<?>> entitiesToCheck = new ArrayList<AEntityE_Interactable<?>>();
-			entitiesToCheck.addAll(world.getEntitiesOfType(EntityVehicleF_Physics.class));
-			entitiesToCheck.addAll(world.getEntitiesOfType(PartGeneric.class));
+			entitiesToCheck.addAll(world.getEntitiesOfTypeWithin(EntityVehicleF_Physics.class, position, MAX_TRAILER_CONNECTION_DISTANCE));
+			entitiesToCheck.addAll(world.getEntitiesOfTypeWithin(PartGeneric.class, position, MAX_TRAILER_CONNECTION_DISTANCE));
 			
 			if(requestIsToBecomeTrailer){
 				for(AEntityE_Interactable<?> testEntity : entitiesToCheck){
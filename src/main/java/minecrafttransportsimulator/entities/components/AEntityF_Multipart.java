@@ -8,6 +8,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.ColorRGB;
@@ -86,6 +87,14 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
 	/**Map of part slot renderables.  Contains {@link #allPartSlotBoxes} boxes.  Rendering is left up to calling functions.**/
 	public final Map<BoundingBox, RenderableObject> allPartSlotRenderables = new HashMap<BoundingBox, RenderableObject>();
 	
+	/**Lookup table for indexed part variables.  Keyed by the entity doing the animating (us or one of our parts), then 
+	 * by the part type prefix of the variable.  Values are the parts in each slot matching that prefix, in definition order, 
+	 * so the index of the variable can be used directly.  Slots without parts have null entries.  Cleared whenever parts are added or removed.**/
+	private final Map<AEntityD_Definable<?>, Map<String, List<APart>>> indexedPartLookup = new HashMap<AEntityD_Definable<?>, Map<String, List<APart>>>();
+	
+	/**Parsed indexed variable names.  These never change, so they are shared across all entities.**/
+	private static final Map<String, IndexedPartVariable> indexedPartVariables = new ConcurrentHashMap<String, IndexedPartVariable>();
+	
 	//Constants
 	private final float PART_SLOT_HITBOX_WIDTH = 0.75F;
 	private final float PART_SLOT_HITBOX_HEIGHT = 2.25F;
@@ -115,6 +124,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
 	@Override
 	protected void initializeDefinition(){
     	super.initializeDefinition();
+    	indexedPartLookup.clear();
     	//Reset any parts on us.
     	//Don't reset sub-parts though, as they don't use the JSONs on us for movement.
     	for(APart part : parts){
@@ -335,8 +345,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
 		if(partNumber != -1){
 			APart foundPart = getSpecificPart(this, variable, partNumber);
 			if(foundPart != null){
-				variable = variable.substring(0, variable.lastIndexOf("_"));
-				foundPart.toggleVariable(variable);
+				foundPart.toggleVariable(getIndexedPartVariable(variable).partVariable);
 			}
 		}else{
 			super.toggleVariable(variable);
@@ -349,7 +358,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
 		if(partNumber != -1){
 			APart foundPart = getSpecificPart(this, variable, partNumber);
 			if(foundPart != null){
-				foundPart.setVariable(variable.substring(0, variable.lastIndexOf("_")), value);
+				foundPart.setVariable(getIndexedPartVariable(variable).partVariable, value);
 			}
 		}else{
 			super.setVariable(variable, value);
@@ -462,6 +471,7 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
     	if(partToAdd != null){
     		if(addedDuringConstruction){
     			partsFromNBT.add(partToAdd);
+    			indexedPartLookup.clear();
 				if(partToAdd instanceof PartSeat){
 					ridableLocations.add(partToAdd.placementOffset);
 				}
@@ -788,6 +798,8 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
 	 * Also must be called at construction time to create the initial slot set.
 	 */
 	private void recalculatePartSlots(){
+		//Parts changed, so any indexed lookups are invalid.
+		indexedPartLookup.clear();
 		allPartSlotBoxes.clear();
 		allPartSlotRenderables.clear();
 		for(Entry<Point3d, JSONPartDefinition> packPartEntry : getAllPossiblePackParts().entrySet()){
@@ -877,64 +889,75 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
 			}
     	}
 		encompassingBox.updateToEntity(this, null);
+		world.updateEntityLocation(this);
 	}
 	
 	/**
 	 * Helper method to return the part at the specific index for the passed-in variable.
-	 * Returns null if the part doesn't exist.
+	 * Returns null if the part doesn't exist.  Lookups are cached in the multipart the
+	 * parts are on until a part is added or removed.
 	 */
 	public static APart getSpecificPart(AEntityD_Definable<? extends AJSONPartProvider> entityAnimating, String variable, int partNumber){
-		//Iterate through our parts to find the index of the pack def for the part we want.
-		String partType = variable.substring(0, variable.indexOf("_"));
-		JSONPartDefinition foundDef = null;
+		AEntityF_Multipart<?> multipart = entityAnimating instanceof APart ? ((APart) entityAnimating).entityOn : (AEntityF_Multipart<?>) entityAnimating;
+		Map<String, List<APart>> entityLookup = multipart.indexedPartLookup.get(entityAnimating);
+		if(entityLookup == null){
+			entityLookup = new HashMap<String, List<APart>>();
+			multipart.indexedPartLookup.put(entityAnimating, entityLookup);
+		}
+		String partType = getIndexedPartVariable(variable).partType;
+		List<APart> slotParts = entityLookup.get(partType);
+		if(slotParts == null){
+			slotParts = getPartsInSlots(entityAnimating, multipart, partType);
+			entityLookup.put(partType, slotParts);
+		}
+		
+		//If the index is out of range, there's no valid sub-part definitions found.  This is an error, but not one we should crash for.  Return null.
+		return partNumber < slotParts.size() ? slotParts.get(partNumber) : null;
+	}
+	
+	/**
+	 * Helper method to get the parts in all slots of the passed-in entity that match the passed-in type, 
+	 * in the order the slots appear in the definition, with additional parts following their main part.
+	 * Slots that don't have a part in them have a null entry, as they haven't been placed yet.
+	 */
+	private static List<APart> getPartsInSlots(AEntityD_Definable<? extends AJSONPartProvider> entityAnimating, AEntityF_Multipart<?> multipart, String partType){
+		List<APart> slotParts = new ArrayList<APart>();
 		for(JSONPartDefinition partDef : entityAnimating.definition.parts){
-			//If this part is the one we want, get it or add to our index.
-			for(String defPartType : partDef.types){
-				if(partType.equals("part") || defPartType.startsWith(partType)){
-					if(partNumber == 0){
-						foundDef = partDef;
-					}else{
-						--partNumber;
-					}
-					break;
-				}
+			if(isPartOfType(partDef, partType)){
+				slotParts.add(getPartInSlot(entityAnimating, multipart, partDef));
 			}
 			
 			//Also check additional parts if we have them.
-			if(foundDef == null && partDef.additionalParts != null){
+			if(partDef.additionalParts != null){
 				for(JSONPartDefinition additionalDef : partDef.additionalParts){
-					for(String defPartType : additionalDef.types){
-						if(partType.equals("part") || defPartType.startsWith(partType)){
-							if(partNumber == 0){
-								foundDef = additionalDef;
-							}else{
-								--partNumber;
-							}
-							break;
-						}
-					}
-					if(foundDef != null){
-						break;
+					if(isPartOfType(additionalDef, partType)){
+						slotParts.add(getPartInSlot(entityAnimating, multipart, additionalDef));
 					}
 				}
 			}
-			
-			//If we found our part, try to get it.
-			if(foundDef != null){
-				//Get the part at this location.  If it's of the same type as what we need, return it.
-				//If it's not, or it doesn't exist, return null as it hasn't been placed yet.
-				if(entityAnimating instanceof APart){
-					APart part = (APart) entityAnimating;
-					return part.entityOn.getPartAtLocation(part.getPackForSubPart(foundDef).pos);
-				}else{
-					AEntityF_Multipart<?> provider = (AEntityF_Multipart<?>) entityAnimating;
-					return provider.getPartAtLocation(foundDef.pos);
-				}
+		}
+		return slotParts;
+	}
+	
+	private static boolean isPartOfType(JSONPartDefinition partDef, String partType){
+		if(partType.equals("part")){
+			return true;
+		}
+		for(String defPartType : partDef.types){
+			if(defPartType.startsWith(partType)){
+				return true;
 			}
 		}
-		
-		//No valid sub-part definitions found.  This is an error, but not one we should crash for.  Return null.
-		return null;
+		return false;
+	}
+	
+	private static APart getPartInSlot(AEntityD_Definable<? extends AJSONPartProvider> entityAnimating, AEntityF_Multipart<?> multipart, JSONPartDefinition partDef){
+		//Get the part at this location.  If it doesn't exist, this will be null as it hasn't been placed yet.
+		if(entityAnimating instanceof APart){
+			return multipart.getPartAtLocation(((APart) entityAnimating).getPackForSubPart(partDef).pos);
+		}else{
+			return multipart.getPartAtLocation(partDef.pos);
+		}
 	}
 	
 	/**
@@ -944,12 +967,38 @@ public abstract class AEntityF_Multipart<JSONDefinition extends AJSONPartProvide
 	public static double getSpecificPartAnimation(AEntityD_Definable<? extends AJSONPartProvider> entityAnimating, String variable, int partNumber, float partialTicks){
 		APart foundPart = getSpecificPart(entityAnimating, variable, partNumber);
 		if(foundPart != null){
-			return foundPart.getRawVariableValue(variable.substring(0, variable.lastIndexOf("_")), partialTicks);
+			return foundPart.getRawVariableValue(getIndexedPartVariable(variable).partVariable, partialTicks);
 		}else{
 			return 0;
 		}
 	}
+	
+	/**
+	 * Helper method to get the parsed form of an indexed variable, parsing it if it hasn't been yet.
+	 */
+	private static IndexedPartVariable getIndexedPartVariable(String variable){
+		IndexedPartVariable indexedVariable = indexedPartVariables.get(variable);
+		if(indexedVariable == null){
+			indexedVariable = new IndexedPartVariable(variable);
+			indexedPartVariables.put(variable, indexedVariable);
+		}
+		return indexedVariable;
+	}
+	
+	/**
+	 * Parsed form of an indexed part variable, such as engine_rpm_2.
+	 */
+	private static class IndexedPartVariable{
+		/**The type prefix of the part, such as engine.**/
+		private final String partType;
+		/**The variable on the part, such as engine_rpm.**/
+		private final String partVariable;
 		
+		private IndexedPartVariable(String variable){
+			this.partType = variable.substring(0, variable.indexOf("_"));
+			this.partVariable = variable.substring(0, variable.lastIndexOf("_"));
+		}
+	}
 	
 	@Override
 	public WrapperNBT save(WrapperNBT data){
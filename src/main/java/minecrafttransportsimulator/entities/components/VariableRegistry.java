@@ -0,0 +1,176 @@
+package minecrafttransportsimulator.entities.components;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
+import minecrafttransportsimulator.jsondefs.JSONRendering;
+import minecrafttransportsimulator.jsondefs.JSONText;
+import minecrafttransportsimulator.jsondefs.JSONVariableModifier;
+import minecrafttransportsimulator.rendering.components.AnimationExpression;
+import minecrafttransportsimulator.rendering.components.TextFormat;
+
+/**Registry for all variable names used by {@link AEntityD_Definable}.  Each name is resolved to an
+ * integer handle once, normally when the pack that uses it is loaded, and is then used as an index
+ * into the primitive value array that each entity holds.  Handles are global and never change once
+ * assigned, so they may be cached by anything that wants to skip the name lookup.
+ * <br><br>
+ * The built-in variables are registered before anything else, which gives them the fixed handles
+ * defined as constants here.  This allows entities to switch on the handle rather than the name.
+ *
+ * @author don_bruce
+ */
+public final class VariableRegistry{
+	public static final int TICK = 0;
+	public static final int TICK_SIN = 1;
+	public static final int TICK_COS = 2;
+	public static final int TIME = 3;
+	public static final int RAIN_STRENGTH = 4;
+	public static final int RAIN_SIN = 5;
+	public static final int RAIN_COS = 6;
+	public static final int LIGHT_SUNLIGHT = 7;
+	public static final int LIGHT_TOTAL = 8;
+	public static final int GROUND_DISTANCE = 9;
+	/**Number of built-in variables.  All handles at or above this value are generic variables.**/
+	public static final int BUILTIN_COUNT = 10;
+	private static final String[] BUILTIN_NAMES = new String[]{"tick", "tick_sin", "tick_cos", "time", "rain_strength", "rain_sin", "rain_cos", "light_sunlight", "light_total", "ground_distance"};
+
+	private static final Map<String, Integer> handles = new ConcurrentHashMap<String, Integer>();
+	private static volatile String[] names = new String[256];
+	private static volatile int[][] cycleTimes = new int[256][];
+	private static volatile int count;
+
+	static{
+		for(String builtinName : BUILTIN_NAMES){
+			getHandle(builtinName);
+		}
+	}
+
+	private VariableRegistry(){}
+
+	/**
+	 *  Returns the handle for the passed-in variable name, registering it if it doesn't yet exist.
+	 *  Use this for writes, or anything where the name is known to be a real variable.
+	 */
+	public static int getHandle(String name){
+		Integer handle = handles.get(name);
+		return handle != null ? handle : register(name);
+	}
+
+	/**
+	 *  Returns the handle for the passed-in variable name, or -1 if it was never registered.
+	 *  Use this for reads, as it prevents un-used names from ending up in the registry.
+	 */
+	public static int findHandle(String name){
+		Integer handle = handles.get(name);
+		return handle != null ? handle : -1;
+	}
+
+	/**
+	 *  Returns the name of the variable for the passed-in handle.
+	 */
+	public static String getName(int handle){
+		return names[handle];
+	}
+
+	/**
+	 *  Returns the off, on, and total times for the passed-in handle if it is a _cycle variable,
+	 *  or null if it isn't.  These are parsed once at registration time.
+	 */
+	public static int[] getCycleTimes(int handle){
+		return cycleTimes[handle];
+	}
+
+	/**
+	 *  Returns the number of registered variables.  All handles are less than this number.
+	 */
+	public static int getCount(){
+		return count;
+	}
+
+	private static synchronized int register(String name){
+		Integer handle = handles.get(name);
+		if(handle == null){
+			if(count == names.length){
+				names = Arrays.copyOf(names, count*2);
+				cycleTimes = Arrays.copyOf(cycleTimes, count*2);
+			}
+			names[count] = name;
+			if(name.endsWith("_cycle")){
+				try{
+					String[] parsedVariable = name.split("_");
+					int offTime = Integer.valueOf(parsedVariable[0]);
+					int onTime = Integer.valueOf(parsedVariable[1]);
+					cycleTimes[count] = new int[]{offTime, onTime, offTime + onTime + Integer.valueOf(parsedVariable[2])};
+				}catch(Exception e){
+					//Not a properly-formatted cycle variable, so just treat it as a generic one.
+				}
+			}
+			handle = count;
+			handles.put(name, handle);
+			++count;
+		}
+		return handle;
+	}
+
+	/**
+	 *  Registers all variables referenced by the passed-in JSON object, and any jsondefs objects it contains.
+	 *  Animation definitions also get their {@link AnimationExpression} created here, and text definitions their {@link TextFormat}.  This is called when
+	 *  packs are loaded or hot-loaded to ensure all handles exist before any entities try to look them up.  
+	 *  Recursion follows the same rules as the JSON validation code.
+	 */
+	public static void registerVariables(Object jsonObject){
+		if(jsonObject instanceof JSONAnimationDefinition){
+			//Creating the expression registers the variable.
+			JSONAnimationDefinition animation = (JSONAnimationDefinition) jsonObject;
+			if(animation.variable != null){
+				animation.expression = new AnimationExpression(animation);
+			}
+		}else if(jsonObject instanceof JSONText){
+			JSONText text = (JSONText) jsonObject;
+			if(text.variableName != null){
+				getHandle(text.variableName);
+			}
+			if(text.variableFormat != null){
+				text.compiledFormat = new TextFormat(text.variableFormat);
+			}
+		}else if(jsonObject instanceof JSONVariableModifier){
+			JSONVariableModifier modifier = (JSONVariableModifier) jsonObject;
+			if(modifier.variable != null){
+				modifier.variableHandle = getHandle(modifier.variable);
+			}
+		}else if(jsonObject instanceof JSONRendering){
+			JSONRendering rendering = (JSONRendering) jsonObject;
+			for(Collection<String> variableList : Arrays.asList(rendering.customVariables, rendering.initialVariables, rendering.constants)){
+				if(variableList != null){
+					for(String variable : variableList){
+						getHandle(variable);
+					}
+				}
+			}
+		}
+
+		for(Field field : jsonObject.getClass().getFields()){
+			if(!Modifier.isStatic(field.getModifiers())){
+				Object fieldObject = null;
+				try{
+					fieldObject = field.get(jsonObject);
+				}catch(Exception e){}
+
+				if(fieldObject instanceof Collection){
+					for(Object entry : ((Collection<?>) fieldObject)){
+						if(entry != null && entry.getClass().getPackage().getName().contains("jsondefs") && !entry.getClass().isEnum()){
+							registerVariables(entry);
+						}
+					}
+				}else if(fieldObject != null && fieldObject.getClass().getPackage().getName().contains("jsondefs") && !fieldObject.getClass().isEnum()){
+					registerVariables(fieldObject);
+				}
+			}
+		}
+	}
+}
@@ -1,9 +1,11 @@
 package minecrafttransportsimulator.entities.instances;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 import minecrafttransportsimulator.baseclasses.BezierCurve;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.baseclasses.TrailerConnection;
 import minecrafttransportsimulator.baseclasses.VehicleGroundDeviceCollection;
@@ -82,6 +84,13 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 	private final Point3d clientDeltaMApplied = new Point3d();
 	private final Point3d clientDeltaRApplied = new Point3d();
 	private double clientDeltaPApplied;
+	/**Server deltas, quantized by {@link PacketVehicleServerMovement#quantize(double)}, and those last sent to clients.**/
+	private final long[] serverDeltasToSend = new long[PacketVehicleServerMovement.VALUE_COUNT];
+	private final long[] serverDeltasSent = new long[PacketVehicleServerMovement.VALUE_COUNT];
+	/**Max number of ticks between keyframe movement packets, which send the full server deltas.**/
+	private static final int SERVER_DELTA_KEYFRAME_INTERVAL = 100;
+	private long lastServerDeltaKeyframeTick;
+	private long lastServerDeltaSentTick;
 	private final Point3d roadMotion = new Point3d();
 	private final Point3d roadRotation = new Point3d();
 	private final Point3d collisionMotion = new Point3d();
@@ -91,9 +100,23 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 	private double pathingApplied;
 	private final Point3d tempBoxPosition = new Point3d();
 	private final Point3d tempBoxRotation = new Point3d();
+	/**Precision, in degrees, to which rotations are limited when they would cause a collision.**/
+	private static final double ROTATION_COLLISION_TOLERANCE = 0.1D;
+	/**Distance boxes are allowed into blocks they hit when swept, so normal collision handling sees those blocks.**/
+	private static final double SWEPT_COLLISION_PENETRATION = 0.05D;
 	private final Point3d normalizedGroundVelocityVector = new Point3d();
 	private final Point3d normalizedGroundHeadingVector = new Point3d();
 	private AEntityE_Interactable<?> lastCollidedEntity;
+	/**Number of ticks a vehicle needs to be at rest before it goes to sleep.**/
+	private static final int SLEEP_DELAY_TICKS = 40;
+	/**Max movement, in blocks, and rotation, in degrees, per tick a vehicle can have and still be considered at rest.**/
+	private static final double SLEEP_MOTION_THRESHOLD = 0.001D;
+	private static final double SLEEP_ROTATION_THRESHOLD = 0.01D;
+	private int ticksAtRest;
+	/**True if this vehicle is at rest and not doing physics.  Cleared by {@link #wakeUp()}.**/
+	private boolean sleeping;
+	/**Ground state of the ground device boxes when this vehicle went to sleep.  If this changes, the ground under us changed.**/
+	private int sleepingGroundState;
   	public VehicleGroundDeviceCollection groundDeviceCollective;
 	
 	public AEntityVehicleD_Moving(WrapperWorld world, WrapperPlayer placingPlayer, WrapperNBT data){
@@ -154,7 +177,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 					}else{
 						//Update deltas and send to clients.
 						addToServerDeltas(motionApplied, rotationApplied, pathingApplied);
-						InterfacePacket.sendToAllClients(new PacketVehicleServerMovement((EntityVehicleF_Physics) this, motionApplied, rotationApplied, pathingApplied));
+						sendServerDeltas();
 					}
 				}
 			}
@@ -174,17 +197,25 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 					if(part.prevActive != part.isActive){
 						groundDeviceCollective.updateMembers();
 						groundDeviceCollective.updateBounds();
+						wakeUp();
 						break;
 					}
 					if(!part.localOffset.equals(part.prevLocalOffset)){
 						groundDeviceCollective.updateBounds();
+						wakeUp();
 						break;
 					}
 				}
 			}
 			
 			//Now do update calculations and logic.
-			if(!ConfigSystem.configObject.general.noclipVehicles.value || groundDeviceCollective.isReady()){
+			//If we are sleeping, we don't do any of this, as nothing has happened that could move us.
+			//We do check that we can still sleep, as some changes can't be reliably sent to us.
+			if(sleeping){
+				world.beginProfiling("SleepCheck", false);
+				checkSleepState();
+			}
+			if(!sleeping && (!ConfigSystem.configObject.general.noclipVehicles.value || groundDeviceCollective.isReady())){
 				world.beginProfiling("GroundForces", false);
 				getForcesAndMotions();
 				world.beginProfiling("GroundOperations", false);
@@ -194,6 +225,8 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 				if(!world.isClient()){
 					adjustControlSurfaces();
 				}
+				world.beginProfiling("SleepCheck", false);
+				updateSleepState();
 			}
 			
 			//Update parts after all movement is done.
@@ -212,6 +245,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		super.addPart(part, sendPacket);
 		groundDeviceCollective.updateMembers();
 		groundDeviceCollective.updateBounds();
+		wakeUp();
 	}
 	
 	@Override
@@ -219,6 +253,13 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		super.removePart(part, iterator);
 		groundDeviceCollective.updateMembers();
 		groundDeviceCollective.updateBounds();
+		wakeUp();
+	}
+	
+	@Override
+	public void attack(Damage damage){
+		super.attack(damage);
+		wakeUp();
 	}
 	
 	@Override
@@ -251,9 +292,22 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		return super.canCollideWith(entityToCollide); 
 	}
 	
+	@Override
+	public void connectTrailer(TrailerConnection connection){
+		super.connectTrailer(connection);
+		wakeUp();
+	}
+	
+	@Override
+	public void disconnectTrailer(TrailerConnection connection){
+		super.disconnectTrailer(connection);
+		wakeUp();
+	}
+	
 	@Override
 	public void connectAsTrailer(TrailerConnection connection){
 		super.connectAsTrailer(connection);
+		wakeUp();
 		if(parkingBrakeOn){
 			toggleVariable(PARKINGBRAKE_VARIABLE);
 		}
@@ -265,11 +319,75 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 	@Override
 	public void disconnectAsTrailer(){
 		super.disconnectAsTrailer();
+		wakeUp();
 		if(definition.motorized.isTrailer){
 			parkingBrakeOn = true;
 		}
 	}
 	
+	/**
+	 * Returns true if this vehicle is sleeping.  Sleeping vehicles are at rest, and
+	 * skip all physics until something happens that could move them.
+	 */
+	public boolean isSleeping(){
+		return sleeping;
+	}
+	
+	/**
+	 * Wakes this vehicle up if it is sleeping, and re-starts the count of ticks it has been at rest.
+	 * This should be called whenever something happens that could move this vehicle, such as
+	 * control inputs, damage, or the blocks under it changing.
+	 */
+	public void wakeUp(){
+		sleeping = false;
+		ticksAtRest = 0;
+	}
+	
+	/**
+	 * Checks if this vehicle has been at rest long enough to go to sleep, and puts it to sleep if so.
+	 * Only braked vehicles on the ground that aren't towing or being towed can sleep, and only if their
+	 * engines are not active, as engine thrust changes without any packets and can overcome the brakes.  If we moved,
+	 * any vehicles that could be in contact with us are woken up, as we may have moved them, or moved
+	 * out from under them.
+	 */
+	private void updateSleepState(){
+		boolean atRest = motionApplied.length() < SLEEP_MOTION_THRESHOLD && rotationApplied.length() < SLEEP_ROTATION_THRESHOLD && Math.abs(pathingApplied) < SLEEP_MOTION_THRESHOLD;
+		if(!atRest){
+			for(EntityVehicleF_Physics otherVehicle : world.getVehicleContactCandidates((EntityVehicleF_Physics) this)){
+				otherVehicle.wakeUp();
+			}
+		}
+		if(atRest && (parkingBrakeOn || brake > 0) && towedByConnection == null && towingConnections.isEmpty() && !areEnginesActive() && groundDeviceCollective.isAnythingOnGround()){
+			if(++ticksAtRest >= SLEEP_DELAY_TICKS){
+				sleeping = true;
+				motion.set(0, 0, 0);
+				rotation.set(0, 0, 0);
+				groundDeviceCollective.updateCollisions();
+				sleepingGroundState = groundDeviceCollective.getGroundState();
+			}
+		}else{
+			ticksAtRest = 0;
+		}
+	}
+	
+	/**
+	 * Checks if this sleeping vehicle can still sleep, and wakes it up if not.  Vehicles are woken up by events
+	 * that could move them, but not all such events can be seen, such as blocks being changed without notifying
+	 * the world.  So every tick we check that we are still braked, not towing or being towed, and have no active engines, and that the ground
+	 * devices have the same ground under them as when we went to sleep.  This only checks the ground device boxes
+	 * against the cached block shapes, so it is far cheaper than doing the physics.
+	 */
+	private void checkSleepState(){
+		if(!(parkingBrakeOn || brake > 0) || towedByConnection != null || !towingConnections.isEmpty() || areEnginesActive()){
+			wakeUp();
+		}else{
+			groundDeviceCollective.updateCollisions();
+			if(groundDeviceCollective.getGroundState() != sleepingGroundState){
+				wakeUp();
+			}
+		}
+	}
+	
 	/**
 	 * Returns the follower for the rear of the vehicle.  Front follower should
 	 * be obtained by getting the point from this follower the distance away from the
@@ -691,8 +809,9 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 			//This prevents vehicles from phasing through walls even though they are driving on the ground.
 			//If we are being towed, apply this movement to the towing vehicle, not ourselves, as this can lead to the vehicle getting stuck.
 			//If the collision box is a liquid box, don't use it, as that gets used in ground device calculations instead.
+			//Boxes moving further than their own size can skip over blocks, so they are swept along their motion instead.
 			world.beginProfiling("CollisionCheck_" + allBlockCollisionBoxes.size(), false);
-			if(isCollisionBoxCollided()){
+			if(towedByConnection == null && isCollisionBoxSkippingBlocks() ? limitMotionToSweptCollisions() : isCollisionBoxCollided()){
 				world.beginProfiling("CollisionHandling", false);
 				if(towedByConnection != null){
 					Point3d initalMotion = motion.copy();
@@ -779,7 +898,7 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		if(!world.isClient()){
 			if(!motionApplied.isZero() || !rotationApplied.isZero()){
 				addToServerDeltas(motionApplied, rotationApplied, pathingApplied);
-				InterfacePacket.sendToAllClients(new PacketVehicleServerMovement((EntityVehicleF_Physics) this, motionApplied, rotationApplied, pathingApplied));
+				sendServerDeltas();
 			}
 		}else{
 			//Make sure the server is sending delta packets before we try to do delta correction.
@@ -854,18 +973,70 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 	 */
 	private boolean isCollisionBoxCollided(){
 		if(motion.length() > 0.001){
-			boolean clearedCache = false;
 			for(BoundingBox box : allBlockCollisionBoxes){
-				tempBoxPosition.setTo(box.globalCenter).subtract(position).rotateFine(rotation).subtract(box.globalCenter).add(position).addScaled(motion, SPEED_FACTOR);
-				if(!box.collidesWithLiquids && world.checkForCollisions(box, tempBoxPosition, !clearedCache)){
+				if(!box.collidesWithLiquids && world.checkForCollisions(box, setBoxMovement(box))){
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 *  Returns true if any collision box moves further than its own size this tick.  Such boxes can
+	 *  pass through blocks that are between their start and end positions.
+	 */
+	private boolean isCollisionBoxSkippingBlocks(){
+		for(BoundingBox box : allBlockCollisionBoxes){
+			if(!box.collidesWithLiquids){
+				setBoxMovement(box);
+				if(Math.abs(tempBoxPosition.x) > 2*box.widthRadius || Math.abs(tempBoxPosition.y) > 2*box.heightRadius || Math.abs(tempBoxPosition.z) > 2*box.depthRadius){
 					return true;
 				}
-				clearedCache = true;
 			}
 		}
 		return false;
 	}
 	
+	/**
+	 *  Sweeps all collision boxes along their movement this tick in one pass, and finds the earliest point any of
+	 *  them hits a block.  If one does, our motion is limited to that point, plus slightly into the block, so the collision
+	 *  handling done after this sees it and can apply block breaking and collision damage.  Returns true if a box hit a block,
+	 *  and false if all boxes can move freely.  This replaces {@link #isCollisionBoxCollided()}, as a sweep that hits nothing
+	 *  has already checked the end positions of the boxes.
+	 */
+	private boolean limitMotionToSweptCollisions(){
+		double hitFraction = -1;
+		for(BoundingBox box : allBlockCollisionBoxes){
+			if(!box.collidesWithLiquids){
+				double boxHitFraction = world.getSweptCollisionFraction(box, setBoxMovement(box), hitFraction >= 0 ? hitFraction : 1);
+				if(boxHitFraction >= 0){
+					hitFraction = boxHitFraction;
+					if(hitFraction == 0){
+						break;
+					}
+				}
+			}
+		}
+		
+		if(hitFraction >= 0){
+			double motionLength = motion.length()*SPEED_FACTOR;
+			if(motionLength > 0){
+				motion.multiply(Math.min(1D, hitFraction + SWEPT_COLLISION_PENETRATION/motionLength));
+			}
+			return true;
+		}else{
+			return false;
+		}
+	}
+	
+	/**
+	 *  Sets {@link #tempBoxPosition} to how far the passed-in box moves this tick from our motion and rotation, and returns it.
+	 */
+	private Point3d setBoxMovement(BoundingBox box){
+		return tempBoxPosition.setTo(box.globalCenter).subtract(position).rotateFine(rotation).subtract(box.globalCenter).add(position).addScaled(motion, SPEED_FACTOR);
+	}
+	
 	/**
 	 *  If a collision box collided, we need to restrict our proposed movement.
 	 *  Do this by removing motions that cause collisions.
@@ -933,20 +1104,10 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		
 		//Check the yaw.
 		if(rotation.y != 0){
-			tempBoxRotation.set(0D, rotation.y, 0D);
 			for(BoundingBox box : allBlockCollisionBoxes){
-				while(rotation.y != 0){
-					tempBoxPosition.setTo(box.globalCenter).subtract(position).rotateFine(tempBoxRotation).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
-					//Raise this box ever so slightly because Floating Point errors are a PITA.
-					tempBoxPosition.add(0D, 0.1D, 0D);
-					if(!box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter))){
-						break;
-					}
-					if(rotation.y > 0){
-						rotation.y = Math.max(rotation.y - 0.1F, 0);
-					}else{
-						rotation.y = Math.min(rotation.y + 0.1F, 0);
-					}
+				rotation.y = getCollisionFreeRotation(box, false, true, false);
+				if(rotation.y == 0){
+					break;
 				}
 			}
 		}
@@ -954,48 +1115,123 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		//Now do pitch.
 		//Make sure to take into account yaw as it's already been checked.
 		if(rotation.x != 0){
-			tempBoxRotation.set(rotation.x, rotation.y, 0D);
 			for(BoundingBox box : allBlockCollisionBoxes){
-				while(rotation.x != 0){
-					tempBoxPosition.setTo(box.globalCenter).subtract(position).rotateFine(tempBoxRotation).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
-					if(!box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter))){
-						break;
-					}
-					if(rotation.x > 0){
-						rotation.x = Math.max(rotation.x - 0.1F, 0);
-					}else{
-						rotation.x = Math.min(rotation.x + 0.1F, 0);
-					}
+				rotation.x = getCollisionFreeRotation(box, true, false, false);
+				if(rotation.x == 0){
+					break;
 				}
 			}
 		}
 		
 		//And lastly the roll.
 		if(rotation.z != 0){
-			tempBoxRotation.setTo(rotation);
 			for(BoundingBox box : allBlockCollisionBoxes){
-				while(rotation.z != 0){
-					tempBoxPosition.setTo(box.globalCenter).subtract(position).rotateFine(tempBoxRotation).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
-					if(!box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter))){
-						break;
-					}
-					if(rotation.z > 0){
-						rotation.z = Math.max(rotation.z - 0.1F, 0);
-					}else{
-						rotation.z = Math.min(rotation.z + 0.1F, 0);
-					}
+				rotation.z = getCollisionFreeRotation(box, false, false, true);
+				if(rotation.z == 0){
+					break;
 				}
 			}
 		}
 		return false;
 	}
 	
+	/**
+	 *  Returns the largest part of the current rotation on the passed-in axis that the box can be rotated by
+	 *  without colliding with blocks.  Rotations on axes checked before this one (yaw, then pitch, then roll)
+	 *  are included, as they have already been limited.  If the box collides at the full rotation, a bisection
+	 *  search is done between no rotation and the full rotation, down to {@link #ROTATION_COLLISION_TOLERANCE}.
+	 */
+	private double getCollisionFreeRotation(BoundingBox box, boolean pitch, boolean yaw, boolean roll){
+		double angle = pitch ? rotation.x : (yaw ? rotation.y : rotation.z);
+		return getCollisionFreeAngle(angle, ROTATION_COLLISION_TOLERANCE, testAngle -> isBoxCollidedAtRotation(box, testAngle, pitch, yaw, roll));
+	}
+	
+	/**
+	 *  Returns the largest angle between 0 and the passed-in angle that the passed-in check doesn't collide at.
+	 *  The full angle is checked first.  If that collides, a bisection search is done between 0 and the full angle
+	 *  until the two are within the passed-in tolerance, and the last angle that didn't collide is returned.
+	 *  This takes a logarithmic number of checks rather than one per step.  The check is assumed to not collide at 0,
+	 *  so 0 is never checked.  This doesn't reference any vehicle state, so it can be checked on its own.
+	 */
+	static double getCollisionFreeAngle(double angle, double tolerance, IAngleCollisionCheck check){
+		if(!check.isCollidedAt(angle)){
+			return angle;
+		}
+		
+		double freeAngle = 0;
+		double collidedAngle = angle;
+		while(Math.abs(collidedAngle - freeAngle) > tolerance){
+			double testAngle = (freeAngle + collidedAngle)/2D;
+			if(check.isCollidedAt(testAngle)){
+				collidedAngle = testAngle;
+			}else{
+				freeAngle = testAngle;
+			}
+		}
+		return freeAngle;
+	}
+	
+	/**
+	 *  Returns true if the box collides with blocks when rotated by the passed-in angle on the passed-in axis,
+	 *  and moved by the current motion.
+	 */
+	private boolean isBoxCollidedAtRotation(BoundingBox box, double angle, boolean pitch, boolean yaw, boolean roll){
+		if(yaw){
+			tempBoxRotation.set(0D, angle, 0D);
+		}else if(pitch){
+			tempBoxRotation.set(angle, rotation.y, 0D);
+		}else{
+			tempBoxRotation.set(rotation.x, rotation.y, angle);
+		}
+		tempBoxPosition.setTo(box.globalCenter).subtract(position).rotateFine(tempBoxRotation).add(position).add(motion.x*SPEED_FACTOR, motion.y*SPEED_FACTOR, motion.z*SPEED_FACTOR);
+		if(yaw){
+			//Raise this box ever so slightly because Floating Point errors are a PITA.
+			tempBoxPosition.add(0D, 0.1D, 0D);
+		}
+		return box.updateCollidingBlocks(world, tempBoxPosition.subtract(box.globalCenter));
+	}
+	
 	public void addToServerDeltas(Point3d motionAdded, Point3d rotationAdded, double pathingAdded){
 		serverDeltaM.add(motionAdded);
 		serverDeltaR.add(rotationAdded);
 		serverDeltaP += pathingAdded;
 	}
 	
+	/**
+	 *  Sets the server deltas.  Used when clients get a keyframe with the full deltas.
+	 */
+	public void setServerDeltas(Point3d motionDelta, Point3d rotationDelta, double pathingDelta){
+		serverDeltaM.setTo(motionDelta);
+		serverDeltaR.setTo(rotationDelta);
+		serverDeltaP = pathingDelta;
+	}
+	
+	/**
+	 *  Sends the server deltas to clients, if they have changed.  Deltas are quantized first, and only 
+	 *  changes in the quantized values are sent.  Because of this, rounding doesn't add up on clients, 
+	 *  as the sum of all changes is always the quantized deltas.  The full deltas are sent periodically,
+	 *  and when the vehicle starts moving again, to re-sync any clients that loaded the vehicle between packets.
+	 */
+	private void sendServerDeltas(){
+		serverDeltasToSend[0] = PacketVehicleServerMovement.quantize(serverDeltaM.x);
+		serverDeltasToSend[1] = PacketVehicleServerMovement.quantize(serverDeltaM.y);
+		serverDeltasToSend[2] = PacketVehicleServerMovement.quantize(serverDeltaM.z);
+		serverDeltasToSend[3] = PacketVehicleServerMovement.quantize(serverDeltaR.x);
+		serverDeltasToSend[4] = PacketVehicleServerMovement.quantize(serverDeltaR.y);
+		serverDeltasToSend[5] = PacketVehicleServerMovement.quantize(serverDeltaR.z);
+		serverDeltasToSend[6] = PacketVehicleServerMovement.quantize(serverDeltaP);
+		if(!Arrays.equals(serverDeltasToSend, serverDeltasSent)){
+			if(ticksExisted - lastServerDeltaKeyframeTick >= SERVER_DELTA_KEYFRAME_INTERVAL || ticksExisted - lastServerDeltaSentTick > 1){
+				InterfacePacket.sendToAllClients(new PacketVehicleServerMovement((EntityVehicleF_Physics) this, serverDeltasToSend, null));
+				lastServerDeltaKeyframeTick = ticksExisted;
+			}else{
+				InterfacePacket.sendToAllClients(new PacketVehicleServerMovement((EntityVehicleF_Physics) this, serverDeltasToSend, serverDeltasSent));
+			}
+			System.arraycopy(serverDeltasToSend, 0, serverDeltasSent, 0, serverDeltasSent.length);
+			lastServerDeltaSentTick = ticksExisted;
+		}
+	}
+	
 	/**
 	 * Method block for getting the steering angle of this vehicle.
 	 * This returns the normalized steering angle, from -1.0 to 1.0;
@@ -1022,6 +1258,12 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 	 */
 	protected abstract void adjustControlSurfaces();
 	
+	/**
+	 * Returns true if any engines on this vehicle are running or starting.
+	 * Vehicles with active engines can't sleep, as their thrust may change at any time.
+	 */
+	protected abstract boolean areEnginesActive();
+	
 	@Override
 	public WrapperNBT save(WrapperNBT data){
 		super.save(data);
@@ -1030,4 +1272,15 @@ abstract class AEntityVehicleD_Moving extends AEntityVehicleC_Colliding{
 		data.setDouble("serverDeltaP", serverDeltaP);
 		return data;
 	}
+	
+	/**Check for {@link #getCollisionFreeAngle(double, double, IAngleCollisionCheck)}.
+	 *
+	 * @author don_bruce
+	 */
+	static interface IAngleCollisionCheck{
+		/**
+		 *  Returns true if there is a collision at the passed-in angle.
+		 */
+		boolean isCollidedAt(double angle);
+	}
 }
@@ -330,6 +330,16 @@ abstract class AEntityVehicleE_Powered extends AEntityVehicleD_Moving{
 		engines.inverse().remove(part);
 	}
 	
+	@Override
+	protected boolean areEnginesActive(){
+		for(PartEngine engine : engines.values()){
+			if(engine.running || engine.electricStarterEngaged || engine.handStarterEngaged){
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	public void acquireMissile(EntityBullet missile){
 		//Add this missile with its current distance
 		if(!missilesIncoming.contains(missile)){
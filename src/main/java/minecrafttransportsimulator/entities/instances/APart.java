@@ -260,7 +260,11 @@ public abstract class APart extends AEntityE_Interactable<JSONPart>{
 			}
 		}else{
 			//Not a removable part, or is an actual attack.
+			//Wake up the vehicle we are on, as the damage may change how it sits, such as flattening a tire.
 			super.attack(damage);
+			if(vehicleOn != null){
+				vehicleOn.wakeUp();
+			}
 		}
 	}
 	
@@ -218,7 +218,7 @@ public class EntityBullet extends AEntityD_Definable<JSONBullet>{
 			//This is a bit more involved, as we need to check all possible types and check hitbox distance.
 			Point3d endPoint = position.copy().add(motion);
 			BoundingBox bulletMovmenetBounds = new BoundingBox(endPoint.copy().subtract(position).multiply(0.5D).add(position), Math.abs(motion.x/2D), Math.abs(motion.y/2D), Math.abs(motion.z/2D));
-			for(EntityVehicleF_Physics entity : world.getEntitiesOfType(EntityVehicleF_Physics.class)){
+			for(EntityVehicleF_Physics entity : world.getEntitiesOfTypeWithin(EntityVehicleF_Physics.class, bulletMovmenetBounds)){
 				double armorPenetrated = 0;
 				//Don't attack the entity that has the gun that fired us.
 				if(!entity.parts.contains(gun)){
@@ -298,7 +298,7 @@ public class EntityBullet extends AEntityD_Definable<JSONBullet>{
 					}
 				}
 				
-				if(world.getBlockHit(position, motion.copy().normalize().multiply(definition.bullet.proximityFuze)) != null){
+				if(world.traceBlocks(position, motion.copy().normalize().multiply(definition.bullet.proximityFuze), null)){
 					InterfacePacket.sendToServer(new PacketEntityBulletHitBlock(this, position));
 					lastHit = HitType.BLOCK;
 					if(ConfigSystem.configObject.clientControls.devMode.value)InterfaceClient.getClientPlayer().displayChatMessage("HIT BLOCK");
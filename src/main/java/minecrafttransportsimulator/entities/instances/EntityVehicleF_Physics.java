@@ -80,6 +80,19 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered{
 	private final Set<EntityVehicleF_Physics> towedVehiclesCheckedForWeights = new HashSet<EntityVehicleF_Physics>();
 	
 	//Properties.
+	/**Variable modifier targets for the properties that variable modifiers may adjust.**/
+	private static final int WING_AREA_TARGET = 0;
+	private static final int WING_SPAN_TARGET = 1;
+	private static final int AILERON_AREA_TARGET = 2;
+	private static final int ELEVATOR_AREA_TARGET = 3;
+	private static final int RUDDER_AREA_TARGET = 4;
+	private static final int DRAG_COEFFICIENT_TARGET = 5;
+	private static final int BALLAST_VOLUME_TARGET = 6;
+	private static final int DOWN_FORCE_TARGET = 7;
+	private static final int BRAKING_FACTOR_TARGET = 8;
+	private static final int OVER_STEER_TARGET = 9;
+	private static final int UNDER_STEER_TARGET = 10;
+	private static final int AXLE_RATIO_TARGET = 11;
 	@ModifiedValue
 	public float currentWingArea;
 	@ModifiedValue
@@ -217,6 +230,25 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered{
 		InterfacePacket.sendToAllClients(new PacketEntityVariableIncrement(this, RUDDER_VARIABLE, delta));
 	}
 	
+	@Override
+	protected int getVariableModifierTarget(String variable){
+		switch(variable){
+			case "wingArea" : return WING_AREA_TARGET;
+			case "wingSpan" : return WING_SPAN_TARGET;
+			case "aileronArea" : return AILERON_AREA_TARGET;
+			case "elevatorArea" : return ELEVATOR_AREA_TARGET;
+			case "rudderArea" : return RUDDER_AREA_TARGET;
+			case "dragCoefficient" : return DRAG_COEFFICIENT_TARGET;
+			case "ballastVolume" : return BALLAST_VOLUME_TARGET;
+			case "downForce" : return DOWN_FORCE_TARGET;
+			case "brakingFactor" : return BRAKING_FACTOR_TARGET;
+			case "overSteer" : return OVER_STEER_TARGET;
+			case "underSteer" : return UNDER_STEER_TARGET;
+			case "axleRatio" : return AXLE_RATIO_TARGET;
+			default : return super.getVariableModifierTarget(variable);
+		}
+	}
+	
 	@Override
 	protected void updateVariableModifiers(){
 		currentWingArea = (float) (definition.motorized.wingArea + definition.motorized.wingArea*0.15F*flapCurrentAngle/MAX_FLAP_ANGLE_REFERENCE);
@@ -234,21 +266,23 @@ public class EntityVehicleF_Physics extends AEntityVehicleE_Powered{
 		
 		//Adjust current variables to modifiers, if any exist.
 		if(definition.variableModifiers != null){
-			for(JSONVariableModifier modifier : definition.variableModifiers){
-				switch(modifier.variable){
-					case "wingArea" : currentWingArea = adjustVariable(modifier, currentWingArea); break;
-					case "wingSpan" : currentWingSpan = adjustVariable(modifier, currentWingSpan); break;
-					case "aileronArea" : currentAileronArea = adjustVariable(modifier, currentAileronArea); break;
-					case "elevatorArea" : currentElevatorArea = adjustVariable(modifier, currentElevatorArea); break;
-					case "rudderArea" : currentRudderArea = adjustVariable(modifier, currentRudderArea); break;
-					case "dragCoefficient" : currentDragCoefficient = adjustVariable(modifier, currentDragCoefficient); break;
-					case "ballastVolume" : currentBallastVolume = adjustVariable(modifier, currentBallastVolume); break;
-					case "downForce" : currentDownForce = adjustVariable(modifier, currentDownForce); break;
-					case "brakingFactor" : currentBrakingFactor = adjustVariable(modifier, currentBrakingFactor); break;
-					case "overSteer" : currentOverSteer = adjustVariable(modifier, currentOverSteer); break;
-					case "underSteer" : currentUnderSteer = adjustVariable(modifier, currentUnderSteer); break;
-					case "axleRatio" : currentAxleRatio = adjustVariable(modifier, currentAxleRatio); break;
-					default : setVariable(modifier.variable, adjustVariable(modifier, (float) getVariable(modifier.variable))); break;
+			int[] targets = getVariableModifierTargets();
+			for(int i=0; i<targets.length; ++i){
+				JSONVariableModifier modifier = definition.variableModifiers.get(i);
+				switch(targets[i]){
+					case WING_AREA_TARGET : currentWingArea = adjustVariable(modifier, currentWingArea); break;
+					case WING_SPAN_TARGET : currentWingSpan = adjustVariable(modifier, currentWingSpan); break;
+					case AILERON_AREA_TARGET : currentAileronArea = adjustVariable(modifier, currentAileronArea); break;
+					case ELEVATOR_AREA_TARGET : currentElevatorArea = adjustVariable(modifier, currentElevatorArea); break;
+					case RUDDER_AREA_TARGET : currentRudderArea = adjustVariable(modifier, currentRudderArea); break;
+					case DRAG_COEFFICIENT_TARGET : currentDragCoefficient = adjustVariable(modifier, currentDragCoefficient); break;
+					case BALLAST_VOLUME_TARGET : currentBallastVolume = adjustVariable(modifier, currentBallastVolume); break;
+					case DOWN_FORCE_TARGET : currentDownForce = adjustVariable(modifier, currentDownForce); break;
+					case BRAKING_FACTOR_TARGET : currentBrakingFactor = adjustVariable(modifier, currentBrakingFactor); break;
+					case OVER_STEER_TARGET : currentOverSteer = adjustVariable(modifier, currentOverSteer); break;
+					case UNDER_STEER_TARGET : currentUnderSteer = adjustVariable(modifier, currentUnderSteer); break;
+					case AXLE_RATIO_TARGET : currentAxleRatio = adjustVariable(modifier, currentAxleRatio); break;
+					default : adjustGenericVariable(modifier, targets[i]); break;
 				}
 			}
 		}
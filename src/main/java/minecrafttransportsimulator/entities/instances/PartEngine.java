@@ -50,6 +50,16 @@ public class PartEngine extends APart{
 	public PartEngine linkedEngine;
 	
 	//Internal properties
+	/**Variable modifier targets for the properties that variable modifiers may adjust.**/
+	private static final int MAX_RPM_TARGET = 0;
+	private static final int MAX_SAFE_RPM_TARGET = 1;
+	private static final int REVLIMIT_RPM_TARGET = 2;
+	private static final int IDLE_RPM_TARGET = 3;
+	private static final int FUEL_CONSUMPTION_TARGET = 4;
+	private static final int HEATING_COEFFICIENT_TARGET = 5;
+	private static final int COOLING_COEFFICIENT_TARGET = 6;
+	private static final int SUPERCHARGER_FUEL_CONSUMPTION_TARGET = 7;
+	private static final int SUPERCHARGER_EFFICIENCY_TARGET = 8;
 	@ModifiedValue
 	private float currentMaxRPM;
 	@ModifiedValue
@@ -626,6 +636,22 @@ public class PartEngine extends APart{
 		}
 	}
 	
+	@Override
+	protected int getVariableModifierTarget(String variable){
+		switch(variable){
+			case "maxRPM" : return MAX_RPM_TARGET;
+			case "maxSafeRPM" : return MAX_SAFE_RPM_TARGET;
+			case "revlimitRPM" : return REVLIMIT_RPM_TARGET;
+			case "idleRPM" : return IDLE_RPM_TARGET;
+			case "fuelConsumption" : return FUEL_CONSUMPTION_TARGET;
+			case "heatingCoefficient" : return HEATING_COEFFICIENT_TARGET;
+			case "coolingCoefficient" : return COOLING_COEFFICIENT_TARGET;
+			case "superchargerFuelConsumption" : return SUPERCHARGER_FUEL_CONSUMPTION_TARGET;
+			case "superchargerEfficiency" : return SUPERCHARGER_EFFICIENCY_TARGET;
+			default : return super.getVariableModifierTarget(variable);
+		}
+	}
+	
 	@Override
 	protected void updateVariableModifiers(){
 		currentMaxRPM = definition.engine.maxRPM;
@@ -640,18 +666,20 @@ public class PartEngine extends APart{
 		
 		//Adjust current variables to modifiers, if any exist.
 		if(definition.variableModifiers != null){
-			for(JSONVariableModifier modifier : definition.variableModifiers){
-				switch(modifier.variable){
-					case "maxRPM" : currentMaxRPM = adjustVariable(modifier, currentMaxRPM); break;
-					case "maxSafeRPM" : currentMaxSafeRPM = adjustVariable(modifier, currentMaxSafeRPM); break;
-					case "revlimitRPM" : currentRevlimitRPM = adjustVariable(modifier, currentRevlimitRPM); break;
-					case "idleRPM" : currentIdleRPM = adjustVariable(modifier, currentIdleRPM); break;
-					case "fuelConsumption" : currentFuelConsumption = adjustVariable(modifier, currentFuelConsumption); break;
-					case "heatingCoefficient" : currentHeatingCoefficient = adjustVariable(modifier, currentHeatingCoefficient); break;
-					case "coolingCoefficient" : currentCoolingCoefficient = adjustVariable(modifier, currentCoolingCoefficient); break;
-					case "superchargerFuelConsumption" : currentSuperchargerFuelConsumption = adjustVariable(modifier, currentSuperchargerFuelConsumption); break;
-					case "superchargerEfficiency" : currentSuperchargerEfficiency = adjustVariable(modifier, currentSuperchargerEfficiency); break;
-					default : setVariable(modifier.variable, adjustVariable(modifier, (float) getVariable(modifier.variable))); break;
+			int[] targets = getVariableModifierTargets();
+			for(int i=0; i<targets.length; ++i){
+				JSONVariableModifier modifier = definition.variableModifiers.get(i);
+				switch(targets[i]){
+					case MAX_RPM_TARGET : currentMaxRPM = adjustVariable(modifier, currentMaxRPM); break;
+					case MAX_SAFE_RPM_TARGET : currentMaxSafeRPM = adjustVariable(modifier, currentMaxSafeRPM); break;
+					case REVLIMIT_RPM_TARGET : currentRevlimitRPM = adjustVariable(modifier, currentRevlimitRPM); break;
+					case IDLE_RPM_TARGET : currentIdleRPM = adjustVariable(modifier, currentIdleRPM); break;
+					case FUEL_CONSUMPTION_TARGET : currentFuelConsumption = adjustVariable(modifier, currentFuelConsumption); break;
+					case HEATING_COEFFICIENT_TARGET : currentHeatingCoefficient = adjustVariable(modifier, currentHeatingCoefficient); break;
+					case COOLING_COEFFICIENT_TARGET : currentCoolingCoefficient = adjustVariable(modifier, currentCoolingCoefficient); break;
+					case SUPERCHARGER_FUEL_CONSUMPTION_TARGET : currentSuperchargerFuelConsumption = adjustVariable(modifier, currentSuperchargerFuelConsumption); break;
+					case SUPERCHARGER_EFFICIENCY_TARGET : currentSuperchargerEfficiency = adjustVariable(modifier, currentSuperchargerEfficiency); break;
+					default : adjustGenericVariable(modifier, targets[i]); break;
 				}
 			}
 		}
@@ -32,6 +32,9 @@ public class PartGroundDevice extends APart{
 	public double angularVelocity;
 	
 	//Internal properties
+	/**Variable modifier targets for the properties that variable modifiers may adjust.**/
+	private static final int MOTIVE_FRICTION_TARGET = 0;
+	private static final int LATERAL_FRICTION_TARGET = 1;
 	@ModifiedValue
 	private float currentMotiveFriction;
 	@ModifiedValue
@@ -149,6 +152,15 @@ public class PartGroundDevice extends APart{
 		}
 	}
 	
+	@Override
+	protected int getVariableModifierTarget(String variable){
+		switch(variable){
+			case "motiveFriction" : return MOTIVE_FRICTION_TARGET;
+			case "lateralFriction" : return LATERAL_FRICTION_TARGET;
+			default : return super.getVariableModifierTarget(variable);
+		}
+	}
+	
 	@Override
 	protected void updateVariableModifiers(){
 		currentMotiveFriction = definition.ground.motiveFriction;
@@ -156,11 +168,13 @@ public class PartGroundDevice extends APart{
 		
 		//Adjust current variables to modifiers, if any exist.
 		if(definition.variableModifiers != null){
-			for(JSONVariableModifier modifier : definition.variableModifiers){
-				switch(modifier.variable){
-					case "motiveFriction" : currentMotiveFriction = adjustVariable(modifier, currentMotiveFriction); break;
-					case "lateralFriction" : currentLateralFriction = adjustVariable(modifier, currentLateralFriction); break;
-					default : setVariable(modifier.variable, adjustVariable(modifier, (float) getVariable(modifier.variable))); break;
+			int[] targets = getVariableModifierTargets();
+			for(int i=0; i<targets.length; ++i){
+				JSONVariableModifier modifier = definition.variableModifiers.get(i);
+				switch(targets[i]){
+					case MOTIVE_FRICTION_TARGET : currentMotiveFriction = adjustVariable(modifier, currentMotiveFriction); break;
+					case LATERAL_FRICTION_TARGET : currentLateralFriction = adjustVariable(modifier, currentLateralFriction); break;
+					default : adjustGenericVariable(modifier, targets[i]); break;
 				}
 			}
 		}
@@ -237,6 +251,7 @@ public class PartGroundDevice extends APart{
 		boundingBox.heightRadius = getHeight();
 		if(vehicleOn != null){
 			vehicleOn.groundDeviceCollective.updateBounds();
+			vehicleOn.wakeUp();
 		}
 	}
 	
@@ -70,6 +70,9 @@ public class PartGun extends APart{
 	public int currentMuzzle;
 	public WrapperEntity lastController;
 	private WrapperEntity entityTarget;
+	/**Hostiles in bounds when looking for a target, and the deltas to them, sorted closest-first.  Re-used between checks.**/
+	private final List<WrapperEntity> candidateTargets = new ArrayList<WrapperEntity>();
+	private final List<Point3d> candidateDeltas = new ArrayList<Point3d>();
 	private long millisecondCamOffset;
 	private long lastTimeFired;
 	public final List<Integer> bulletsHitOnServer = new ArrayList<Integer>();
@@ -369,7 +372,7 @@ public class PartGun extends APart{
 					targetAngles.setTo(positionDelta).getAngles(true).subtract(angles);
 					if(targetAngles.y < -180)targetAngles.y += 360;
 					if(targetAngles.y > 180)targetAngles.y -= 360;
-					if(((minYaw != -180 || maxYaw != 180) && (targetAngles.y < minYaw || targetAngles.y > maxYaw)) || targetAngles.x < minPitch || targetAngles.x > maxPitch || world.getBlockHit(position, positionDelta) != null){
+					if(((minYaw != -180 || maxYaw != 180) && (targetAngles.y < minYaw || targetAngles.y > maxYaw)) || targetAngles.x < minPitch || targetAngles.x > maxPitch || world.traceBlocks(position, positionDelta, null)){
 						entityTarget = null;
 					}
 				}else{
@@ -378,20 +381,32 @@ public class PartGun extends APart{
 			}
 			if(entityTarget == null || !entityTarget.isValid()){
 				//Target is null or dead, get another one.
+				//Get all hostiles that are in bounds, sorted by distance, then check line-of-sight to them closest-first.
+				//The first one we can see is the closest target we can see, so we don't need to check the rest.
 				for(WrapperEntity entity : world.getEntitiesHostile(controller, 48)){
 					Point3d positionDelta = entity.getPosition().add(0D, entity.getEyeHeight()/2D, 0D).subtract(position);
 					targetAngles.setTo(positionDelta).getAngles(true).subtract(angles);
 					if(targetAngles.y < -180)targetAngles.y += 360;
 					if(targetAngles.y > 180)targetAngles.y -= 360;
-					//Check the distance between this target and our current one, if we have one.
-					//No sense in doing other checks if the testing target is further.
-					if(entityTarget == null || position.distanceTo(entityTarget.getPosition()) > position.distanceTo(entity.getPosition())){
-						//Check if bounds are good.  If so, set target.
-						if(((minYaw == -180 && maxYaw == 180) || (targetAngles.y >= minYaw && targetAngles.y <= maxYaw)) && targetAngles.x >= minPitch && targetAngles.x <= maxPitch && world.getBlockHit(position, positionDelta) == null){
-							entityTarget = entity;
+					if(((minYaw == -180 && maxYaw == 180) || (targetAngles.y >= minYaw && targetAngles.y <= maxYaw)) && targetAngles.x >= minPitch && targetAngles.x <= maxPitch){
+						double distance = positionDelta.length();
+						int index = candidateDeltas.size();
+						while(index > 0 && candidateDeltas.get(index - 1).length() > distance){
+							--index;
 						}
+						candidateTargets.add(index, entity);
+						candidateDeltas.add(index, positionDelta);
 					}
 				}
+				entityTarget = null;
+				for(int i=0; i<candidateTargets.size(); ++i){
+					if(!world.traceBlocks(position, candidateDeltas.get(i), null)){
+						entityTarget = candidateTargets.get(i);
+						break;
+					}
+				}
+				candidateTargets.clear();
+				candidateDeltas.clear();
 			}
 			
 			if(entityTarget != null){
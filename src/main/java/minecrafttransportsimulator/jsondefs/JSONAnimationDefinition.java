@@ -3,6 +3,7 @@ package minecrafttransportsimulator.jsondefs;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.packloading.JSONParser.JSONDescription;
 import minecrafttransportsimulator.packloading.JSONParser.JSONRequired;
+import minecrafttransportsimulator.rendering.components.AnimationExpression;
 
 public class JSONAnimationDefinition{
 	@JSONRequired
@@ -71,6 +72,9 @@ public class JSONAnimationDefinition{
 	@JSONDescription("Like forwardsEndSound, but for reverse.")
 	public String reverseEndSound;
 	
+	/**Pre-parsed form of this definition.  Created when the pack is loaded, not part of the JSON.**/
+	public transient AnimationExpression expression;
+	
 	public static enum AnimationComponentType{
 		@JSONDescription("This animation moves this component in the X/Y/Z direction based on the axis value, with the component moving the total distance specified when the value of the variable is 1.")
 		TRANSLATION,
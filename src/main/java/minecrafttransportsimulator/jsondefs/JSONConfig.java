@@ -189,6 +189,8 @@ public class JSONConfig{
 		public JSONConfigEntry<Boolean> brightLights = new JSONConfigEntry<Boolean>(true, "If false, lights from vehicles and blocks will not do brightness blending and will render as if they were part of the model at that same brightness.  Useful if you have shaders and this is causing troubles.");
 		public JSONConfigEntry<Boolean> blendedLights = new JSONConfigEntry<Boolean>(true, "If false, beam-based lights from vehicles and blocks will not do brightness blending.  This is different from the general brightness setting as this will do OpenGL blending on the world to make it brighter, not just the beams themselves.");
 		
+		public JSONConfigEntry<Boolean> trackEffectInputs = new JSONConfigEntry<Boolean>(true, "If true, lights, sounds, and particles will only be re-calculated when the variables they use change, or when they are in the middle of an animation.  This saves a lot of work on parked vehicles.  Set this to false if you notice effects not updating properly.");
+		
 		public JSONConfigEntry<Boolean> playerTweaks = new JSONConfigEntry<Boolean>(true, "If true, player hands will be modified when holding guns, and hands and legs will be modified when riding in vehicles.  Set this to false if mods cause issues, like two-hand rendering or player model issues.");
 		
 	}
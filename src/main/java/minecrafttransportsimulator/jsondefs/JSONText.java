@@ -4,6 +4,7 @@ import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.packloading.JSONParser.JSONDescription;
 import minecrafttransportsimulator.packloading.JSONParser.JSONRequired;
+import minecrafttransportsimulator.rendering.components.TextFormat;
 
 public class JSONText{
 	@JSONRequired
@@ -32,6 +33,9 @@ public class JSONText{
 	@JSONDescription("The format to display the variable in.  This follows the Java String.format() format, with the input being a floating-point number (%f) for normal variables, and a string (%s) for text variables.  This has many different ways of formatting things.  Google will be your friend here, this documentation shall not.")
 	public String variableFormat;
 	
+	/**Compiled form of the variableFormat.  Created when the pack is loaded, not part of the JSON.**/
+	public transient TextFormat compiledFormat;
+	
 	@JSONDescription("An optional folder of a font to use for this field.  If included, this text will be rendered with this font rather than the default font.  Format is [packID:fontname].  Fonts are then named: assets/packID/textures/fonts/unicode_page_xx.png, where xx corresponds with the default font you are replacing.")
 	public String fontName;
 	
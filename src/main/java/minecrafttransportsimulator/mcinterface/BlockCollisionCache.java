@@ -0,0 +1,547 @@
+package minecrafttransportsimulator.mcinterface;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import minecrafttransportsimulator.baseclasses.BlockHit;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.util.SoundCategory;
+import net.minecraft.util.SoundEvent;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.IWorldEventListener;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+
+/**Cache of block collision shapes for a world.  Shapes are stored per 16x16x16 chunk section,
+ * and are calculated the first time a block is checked.  Empty blocks and full cubes, which are
+ * the vast majority of terrain, are stored purely as bits, so checking them requires no collision box
+ * calculations.  Other shapes are stored as arrays of block-relative box bounds.  This lets vehicles re-use
+ * the terrain around them across ticks, and lets vehicles parked on the same ground share it.
+ * <br><br>
+ * Each cached block stores the block state it was calculated from, and is re-calculated if the chunk's
+ * current state for it isn't that same state.  This catches every block change, including ones that
+ * don't notify the world, such as pistons and other mods setting blocks directly in the chunk.
+ * The cache also listens to the world for block changes, and clears the changed block and its neighbors, as
+ * neighbors may change the shape of blocks such as fences.  Block changes also wake up any vehicles sleeping near them,
+ * as the blocks they were resting on may have changed.  Chunks are removed from the cache when they unload.
+ * Blocks with tile entities may change their shape without a block change, so they are never cached.
+ * Chunks that aren't populated yet don't send block changes, so they aren't cached either.
+ * <br><br>
+ * Rays can also be traced through the cached shapes via {@link #traceRay(double, double, double, double, double, double, BlockHit)}.
+ * This steps through the blocks along the ray one at a time, in order, so it can stop at the first block hit.
+ *
+ * @author don_bruce
+ */
+class BlockCollisionCache implements IWorldEventListener{
+	/**Distance outside a block that its collision boxes are gathered from.  Covers blocks like fences that are taller than a block.**/
+	private static final int SHAPE_SEARCH_DISTANCE = 4;
+	/**Number of sections in a chunk.**/
+	private static final int SECTIONS_PER_CHUNK = 16;
+
+	private final WrapperWorld wrapper;
+	private final World world;
+	private final Map<Long, Section[]> chunks = new HashMap<Long, Section[]>();
+	private final BlockPos.MutableBlockPos mutablePos = new BlockPos.MutableBlockPos();
+	private final List<AxisAlignedBB> mutableShapeAABBs = new ArrayList<AxisAlignedBB>();
+
+	//Last chunk looked up.  Boxes check many blocks in the same chunk in a row, so this saves map lookups.
+	private Section[] lastSections;
+	private int lastChunkX;
+	private int lastChunkZ;
+
+	BlockCollisionCache(WrapperWorld wrapper, World world){
+		this.wrapper = wrapper;
+		this.world = world;
+	}
+
+	/**
+	 *  Adds the collision boxes of the block at the passed-in position that intersect the passed-in
+	 *  box bounds to the passed-in boxes.  Bounds are in the order minX, minY, minZ, maxX, maxY, maxZ.
+	 *  If includeLiquids is set, liquid blocks are added as well.  Returns true if any boxes were added.
+	 *  This matches what adding the boxes from the block state would do, but without calculating the
+	 *  boxes of blocks that are already cached, and without creating any boxes for them.
+	 */
+	boolean addCollidingBoxes(int x, int y, int z, double[] box, CollidingBoxes collidingBoxes, boolean includeLiquids){
+		if(y < 0 || y >= SECTIONS_PER_CHUNK*16){
+			return false;
+		}
+		Section section = getSection(x, y, z);
+		if(section == null){
+			return addBlockStateBoxes(x, y, z, box, collidingBoxes, includeLiquids);
+		}
+
+		int index = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+		int word = index >>> 6;
+		long bit = 1L << index;
+		IBlockState state = section.chunk.getBlockState(x, y, z);
+		if(section.states[index] != state){
+			cacheBlock(section, index, x, y, z, state);
+		}
+		if((section.uncacheable[word] & bit) != 0){
+			return addBlockStateBoxes(x, y, z, box, collidingBoxes, includeLiquids);
+		}
+
+		boolean addedBox = false;
+		if((section.fullCubes[word] & bit) != 0){
+			addedBox = addBoxIfColliding(box, x, y, z, x + 1, y + 1, z + 1, collidingBoxes);
+		}else if(section.shapes != null && section.shapes[index] != null){
+			double[] shape = section.shapes[index];
+			for(int i=0; i<shape.length; i+=6){
+				if(addBoxIfColliding(box, x + shape[i], y + shape[i + 1], z + shape[i + 2], x + shape[i + 3], y + shape[i + 4], z + shape[i + 5], collidingBoxes)){
+					addedBox = true;
+				}
+			}
+		}
+		if(includeLiquids && (section.liquids[word] & bit) != 0){
+			collidingBoxes.add(x, y, z, x + 1, y + 1, z + 1);
+			addedBox = true;
+		}
+		return addedBox;
+	}
+
+	/**
+	 *  Traces a ray from the passed-in start position along the passed-in delta, stepping through each block the
+	 *  ray passes through in order.  This is a 3D-DDA voxel traversal, so no blocks outside the ray are checked.
+	 *  Each block's collision boxes are checked against the ray, and the trace stops at the first block hit.
+	 *  Returns true if a block was hit.  If so, and the passed-in result isn't null, it is set to that hit.
+	 *  Liquids are ignored, as are blocks without collision boxes.
+	 */
+	boolean traceRay(double startX, double startY, double startZ, double deltaX, double deltaY, double deltaZ, BlockHit result){
+		int x = (int) Math.floor(startX);
+		int y = (int) Math.floor(startY);
+		int z = (int) Math.floor(startZ);
+		int endX = (int) Math.floor(startX + deltaX);
+		int endY = (int) Math.floor(startY + deltaY);
+		int endZ = (int) Math.floor(startZ + deltaZ);
+		
+		//Get the step direction for each axis, and how far along the ray we need to go to cross a block on that axis.
+		//Distances are in fractions of the ray, so a value greater than 1 is past the end of the ray.
+		int stepX = deltaX > 0 ? 1 : (deltaX < 0 ? -1 : 0);
+		int stepY = deltaY > 0 ? 1 : (deltaY < 0 ? -1 : 0);
+		int stepZ = deltaZ > 0 ? 1 : (deltaZ < 0 ? -1 : 0);
+		double crossDistanceX = stepX != 0 ? 1D/Math.abs(deltaX) : Double.MAX_VALUE;
+		double crossDistanceY = stepY != 0 ? 1D/Math.abs(deltaY) : Double.MAX_VALUE;
+		double crossDistanceZ = stepZ != 0 ? 1D/Math.abs(deltaZ) : Double.MAX_VALUE;
+		double nextCrossX = stepX > 0 ? (x + 1 - startX)*crossDistanceX : (stepX < 0 ? (startX - x)*crossDistanceX : Double.MAX_VALUE);
+		double nextCrossY = stepY > 0 ? (y + 1 - startY)*crossDistanceY : (stepY < 0 ? (startY - y)*crossDistanceY : Double.MAX_VALUE);
+		double nextCrossZ = stepZ > 0 ? (z + 1 - startZ)*crossDistanceZ : (stepZ < 0 ? (startZ - z)*crossDistanceZ : Double.MAX_VALUE);
+		
+		while(true){
+			double hitFraction = getRayIntersection(x, y, z, startX, startY, startZ, deltaX, deltaY, deltaZ);
+			if(hitFraction >= 0){
+				if(result != null){
+					result.blockPosition.set(x, y, z);
+					result.hitPosition.set(startX + deltaX*hitFraction, startY + deltaY*hitFraction, startZ + deltaZ*hitFraction);
+					result.fraction = hitFraction;
+				}
+				return true;
+			}
+			if(x == endX && y == endY && z == endZ){
+				return false;
+			}
+			
+			//Step to the next block along the ray, which is on the axis whose block boundary is closest.
+			if(nextCrossX < nextCrossY && nextCrossX < nextCrossZ){
+				if(nextCrossX > 1){
+					return false;
+				}
+				x += stepX;
+				nextCrossX += crossDistanceX;
+			}else if(nextCrossY < nextCrossZ){
+				if(nextCrossY > 1){
+					return false;
+				}
+				y += stepY;
+				nextCrossY += crossDistanceY;
+			}else{
+				if(nextCrossZ > 1){
+					return false;
+				}
+				z += stepZ;
+				nextCrossZ += crossDistanceZ;
+			}
+		}
+	}
+	
+	/**
+	 *  Returns how far along the passed-in ray it first hits the collision boxes of the block at the passed-in position,
+	 *  from 0 at the start to 1 at the end.  Returns -1 if the ray doesn't hit the block.
+	 */
+	private double getRayIntersection(int x, int y, int z, double startX, double startY, double startZ, double deltaX, double deltaY, double deltaZ){
+		if(y < 0 || y >= SECTIONS_PER_CHUNK*16){
+			return -1;
+		}
+		Section section = getSection(x, y, z);
+		int index = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+		int word = index >>> 6;
+		long bit = 1L << index;
+		if(section != null){
+			IBlockState state = section.chunk.getBlockState(x, y, z);
+			if(section.states[index] != state){
+				cacheBlock(section, index, x, y, z, state);
+			}
+		}
+		
+		double closestFraction = -1;
+		if(section == null || (section.uncacheable[word] & bit) != 0){
+			mutablePos.setPos(x, y, z);
+			if(world.isBlockLoaded(mutablePos)){
+				IBlockState state = world.getBlockState(mutablePos);
+				if(state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, mutablePos) != null){
+					mutableShapeAABBs.clear();
+					state.addCollisionBoxToList(world, mutablePos, new AxisAlignedBB(x - SHAPE_SEARCH_DISTANCE, y - SHAPE_SEARCH_DISTANCE, z - SHAPE_SEARCH_DISTANCE, x + 1 + SHAPE_SEARCH_DISTANCE, y + 1 + SHAPE_SEARCH_DISTANCE, z + 1 + SHAPE_SEARCH_DISTANCE), mutableShapeAABBs, null, false);
+					for(AxisAlignedBB shapeBox : mutableShapeAABBs){
+						double fraction = getRayIntersection(shapeBox.minX, shapeBox.minY, shapeBox.minZ, shapeBox.maxX, shapeBox.maxY, shapeBox.maxZ, startX, startY, startZ, deltaX, deltaY, deltaZ);
+						if(fraction >= 0 && (closestFraction < 0 || fraction < closestFraction)){
+							closestFraction = fraction;
+						}
+					}
+				}
+			}
+		}else if((section.fullCubes[word] & bit) != 0){
+			closestFraction = getRayIntersection(x, y, z, x + 1, y + 1, z + 1, startX, startY, startZ, deltaX, deltaY, deltaZ);
+		}else if(section.shapes != null && section.shapes[index] != null){
+			double[] shape = section.shapes[index];
+			for(int i=0; i<shape.length; i+=6){
+				double fraction = getRayIntersection(x + shape[i], y + shape[i + 1], z + shape[i + 2], x + shape[i + 3], y + shape[i + 4], z + shape[i + 5], startX, startY, startZ, deltaX, deltaY, deltaZ);
+				if(fraction >= 0 && (closestFraction < 0 || fraction < closestFraction)){
+					closestFraction = fraction;
+				}
+			}
+		}
+		return closestFraction;
+	}
+	
+	/**
+	 *  Returns how far along the passed-in ray it first hits the box with the passed-in bounds, from 0 at the start
+	 *  to 1 at the end.  Returns -1 if the ray doesn't hit the box.  Rays starting inside the box hit it at 0.
+	 *  This is a slab test, so it doesn't create any objects, unlike {@link AxisAlignedBB#calculateIntercept(net.minecraft.util.math.Vec3d, net.minecraft.util.math.Vec3d)}.
+	 */
+	static double getRayIntersection(double minX, double minY, double minZ, double maxX, double maxY, double maxZ, double startX, double startY, double startZ, double deltaX, double deltaY, double deltaZ){
+		double entryFraction = 0;
+		double exitFraction = 1;
+		if(deltaX == 0){
+			if(startX < minX || startX > maxX){
+				return -1;
+			}
+		}else{
+			double minFraction = (minX - startX)/deltaX;
+			double maxFraction = (maxX - startX)/deltaX;
+			entryFraction = Math.max(entryFraction, Math.min(minFraction, maxFraction));
+			exitFraction = Math.min(exitFraction, Math.max(minFraction, maxFraction));
+		}
+		if(deltaY == 0){
+			if(startY < minY || startY > maxY){
+				return -1;
+			}
+		}else{
+			double minFraction = (minY - startY)/deltaY;
+			double maxFraction = (maxY - startY)/deltaY;
+			entryFraction = Math.max(entryFraction, Math.min(minFraction, maxFraction));
+			exitFraction = Math.min(exitFraction, Math.max(minFraction, maxFraction));
+		}
+		if(deltaZ == 0){
+			if(startZ < minZ || startZ > maxZ){
+				return -1;
+			}
+		}else{
+			double minFraction = (minZ - startZ)/deltaZ;
+			double maxFraction = (maxZ - startZ)/deltaZ;
+			entryFraction = Math.max(entryFraction, Math.min(minFraction, maxFraction));
+			exitFraction = Math.min(exitFraction, Math.max(minFraction, maxFraction));
+		}
+		return entryFraction <= exitFraction ? entryFraction : -1;
+	}
+
+	/**
+	 *  Removes all cached blocks in the passed-in chunk.  Should be called when the chunk unloads.
+	 */
+	void removeChunk(int chunkX, int chunkZ){
+		chunks.remove(getKey(chunkX, chunkZ));
+		if(lastSections != null && lastChunkX == chunkX && lastChunkZ == chunkZ){
+			lastSections = null;
+		}
+	}
+
+	/**
+	 *  Returns the section for the passed-in block, creating it if required.
+	 *  Returns null if the block's chunk isn't loaded, or can't be cached.
+	 */
+	private Section getSection(int x, int y, int z){
+		int chunkX = x >> 4;
+		int chunkZ = z >> 4;
+		Section[] sections;
+		Chunk chunk = null;
+		if(lastSections != null && lastChunkX == chunkX && lastChunkZ == chunkZ){
+			sections = lastSections;
+		}else{
+			sections = chunks.get(getKey(chunkX, chunkZ));
+			if(sections == null){
+				chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+				if(chunk == null || chunk.isEmpty() || !chunk.isPopulated()){
+					return null;
+				}
+				sections = new Section[SECTIONS_PER_CHUNK];
+				chunks.put(getKey(chunkX, chunkZ), sections);
+			}
+			lastSections = sections;
+			lastChunkX = chunkX;
+			lastChunkZ = chunkZ;
+		}
+
+		Section section = sections[y >> 4];
+		if(section == null){
+			if(chunk == null){
+				chunk = world.getChunkProvider().getLoadedChunk(chunkX, chunkZ);
+			}
+			section = new Section(chunk);
+			sections[y >> 4] = section;
+		}
+		return section;
+	}
+
+	/**
+	 *  Calculates the shape of the block at the passed-in position from the passed-in state, and stores it in the section.
+	 */
+	private void cacheBlock(Section section, int index, int x, int y, int z, IBlockState state){
+		int word = index >>> 6;
+		long bit = 1L << index;
+		section.states[index] = state;
+		section.fullCubes[word] &= ~bit;
+		section.liquids[word] &= ~bit;
+		section.uncacheable[word] &= ~bit;
+		if(section.shapes != null){
+			section.shapes[index] = null;
+		}
+
+		mutablePos.setPos(x, y, z);
+		Block block = state.getBlock();
+		if(block.hasTileEntity(state)){
+			section.uncacheable[word] |= bit;
+			return;
+		}
+
+		if(block.canCollideCheck(state, false) && state.getCollisionBoundingBox(world, mutablePos) != null){
+			mutableShapeAABBs.clear();
+			state.addCollisionBoxToList(world, mutablePos, new AxisAlignedBB(x - SHAPE_SEARCH_DISTANCE, y - SHAPE_SEARCH_DISTANCE, z - SHAPE_SEARCH_DISTANCE, x + 1 + SHAPE_SEARCH_DISTANCE, y + 1 + SHAPE_SEARCH_DISTANCE, z + 1 + SHAPE_SEARCH_DISTANCE), mutableShapeAABBs, null, false);
+			if(mutableShapeAABBs.size() == 1 && isFullCube(mutableShapeAABBs.get(0), x, y, z)){
+				section.fullCubes[word] |= bit;
+			}else if(!mutableShapeAABBs.isEmpty()){
+				double[] shape = new double[mutableShapeAABBs.size()*6];
+				for(int i=0; i<mutableShapeAABBs.size(); ++i){
+					AxisAlignedBB shapeBox = mutableShapeAABBs.get(i);
+					shape[i*6] = shapeBox.minX - x;
+					shape[i*6 + 1] = shapeBox.minY - y;
+					shape[i*6 + 2] = shapeBox.minZ - z;
+					shape[i*6 + 3] = shapeBox.maxX - x;
+					shape[i*6 + 4] = shapeBox.maxY - y;
+					shape[i*6 + 5] = shapeBox.maxZ - z;
+				}
+				if(section.shapes == null){
+					section.shapes = new double[4096][];
+				}
+				section.shapes[index] = shape;
+			}
+		}
+
+		if(state.getMaterial().isLiquid()){
+			//Liquids are almost always full blocks.  If one isn't, check it every time rather than storing its shape.
+			if(isFullCube(state.getBoundingBox(world, mutablePos), 0, 0, 0)){
+				section.liquids[word] |= bit;
+			}else{
+				section.uncacheable[word] |= bit;
+			}
+		}
+	}
+
+	/**
+	 *  Adds the boxes for the passed-in block by querying its state.  Used for blocks that aren't cached.
+	 *  The block state needs a box to check its shapes against, so this is the only case that creates one.
+	 */
+	private boolean addBlockStateBoxes(int x, int y, int z, double[] box, CollidingBoxes collidingBoxes, boolean includeLiquids){
+		mutablePos.setPos(x, y, z);
+		if(!world.isBlockLoaded(mutablePos)){
+			return false;
+		}
+		boolean addedBox = false;
+		IBlockState state = world.getBlockState(mutablePos);
+		if(state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, mutablePos) != null){
+			mutableShapeAABBs.clear();
+			state.addCollisionBoxToList(world, mutablePos, new AxisAlignedBB(box[0], box[1], box[2], box[3], box[4], box[5]), mutableShapeAABBs, null, false);
+			for(AxisAlignedBB shapeBox : mutableShapeAABBs){
+				collidingBoxes.add(shapeBox.minX, shapeBox.minY, shapeBox.minZ, shapeBox.maxX, shapeBox.maxY, shapeBox.maxZ);
+				addedBox = true;
+			}
+		}
+		if(includeLiquids && state.getMaterial().isLiquid()){
+			AxisAlignedBB liquidBox = state.getBoundingBox(world, mutablePos);
+			collidingBoxes.add(liquidBox.minX + x, liquidBox.minY + y, liquidBox.minZ + z, liquidBox.maxX + x, liquidBox.maxY + y, liquidBox.maxZ + z);
+			addedBox = true;
+		}
+		return addedBox;
+	}
+
+	/**
+	 *  Adds a box with the passed-in bounds to the colliding boxes if it intersects the passed-in box bounds.
+	 *  Uses the same exclusive bounds check as {@link AxisAlignedBB#intersects(AxisAlignedBB)}.
+	 */
+	private static boolean addBoxIfColliding(double[] box, double minX, double minY, double minZ, double maxX, double maxY, double maxZ, CollidingBoxes collidingBoxes){
+		if(box[0] < maxX && box[3] > minX && box[1] < maxY && box[4] > minY && box[2] < maxZ && box[5] > minZ){
+			collidingBoxes.add(minX, minY, minZ, maxX, maxY, maxZ);
+			return true;
+		}else{
+			return false;
+		}
+	}
+
+	/**
+	 *  Returns true if the box is a full cube with its minimum corner at the passed-in position.
+	 */
+	private static boolean isFullCube(AxisAlignedBB box, int x, int y, int z){
+		return box.minX == x && box.minY == y && box.minZ == z && box.maxX == x + 1 && box.maxY == y + 1 && box.maxZ == z + 1;
+	}
+
+	/**
+	 *  Clears the passed-in block so it is re-calculated on its next check.
+	 */
+	private void invalidateBlock(int x, int y, int z){
+		if(y >= 0 && y < SECTIONS_PER_CHUNK*16){
+			Section[] sections = chunks.get(getKey(x >> 4, z >> 4));
+			if(sections != null){
+				Section section = sections[y >> 4];
+				if(section != null){
+					int index = ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+					section.states[index] = null;
+				}
+			}
+		}
+	}
+
+	private static Long getKey(int chunkX, int chunkZ){
+		return (((long) chunkX) << 32) | (chunkZ & 0xFFFFFFFFL);
+	}
+
+	@Override
+	public void notifyBlockUpdate(World world, BlockPos pos, IBlockState oldState, IBlockState newState, int flags){
+		int x = pos.getX();
+		int y = pos.getY();
+		int z = pos.getZ();
+		invalidateBlock(x, y, z);
+		invalidateBlock(x - 1, y, z);
+		invalidateBlock(x + 1, y, z);
+		invalidateBlock(x, y - 1, z);
+		invalidateBlock(x, y + 1, z);
+		invalidateBlock(x, y, z - 1);
+		invalidateBlock(x, y, z + 1);
+		wrapper.wakeVehiclesNear(x, y, z);
+	}
+
+	@Override
+	public void markBlockRangeForRenderUpdate(int x1, int y1, int z1, int x2, int y2, int z2){
+		//Sent when a large area changes, such as a client getting new chunk data.
+		//Drop the whole sections in the area rather than clearing each block.
+		int minY = Math.max(0, (y1 - 1) >> 4);
+		int maxY = Math.min(SECTIONS_PER_CHUNK - 1, (y2 + 1) >> 4);
+		for(int chunkX=(x1 - 1) >> 4; chunkX<=(x2 + 1) >> 4; ++chunkX){
+			for(int chunkZ=(z1 - 1) >> 4; chunkZ<=(z2 + 1) >> 4; ++chunkZ){
+				Section[] sections = chunks.get(getKey(chunkX, chunkZ));
+				if(sections != null){
+					for(int sectionY=minY; sectionY<=maxY; ++sectionY){
+						sections[sectionY] = null;
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public void notifyLightSet(BlockPos pos){}
+
+	@Override
+	public void playSoundToAllNearExcept(EntityPlayer player, SoundEvent soundIn, SoundCategory category, double x, double y, double z, float volume, float pitch){}
+
+	@Override
+	public void playRecord(SoundEvent soundIn, BlockPos pos){}
+
+	@Override
+	public void spawnParticle(int particleID, boolean ignoreRange, double xCoord, double yCoord, double zCoord, double xSpeed, double ySpeed, double zSpeed, int... parameters){}
+
+	@Override
+	public void spawnParticle(int id, boolean ignoreRange, boolean minimiseParticleLevel, double x, double y, double z, double xSpeed, double ySpeed, double zSpeed, int... parameters){}
+
+	@Override
+	public void onEntityAdded(Entity entityIn){}
+
+	@Override
+	public void onEntityRemoved(Entity entityIn){}
+
+	@Override
+	public void broadcastSound(int soundID, BlockPos pos, int data){}
+
+	@Override
+	public void playEvent(EntityPlayer player, int type, BlockPos blockPosIn, int data){}
+
+	@Override
+	public void sendBlockBreakProgress(int breakerId, BlockPos pos, int progress){}
+
+	/**Cached shapes for a 16x16x16 section of blocks.  Each block has a bit in each of the bit arrays.
+	 *
+	 * @author don_bruce
+	 */
+	private static class Section{
+		/**Chunk this section is in.  Used to get the current states of its blocks.**/
+		private final Chunk chunk;
+		/**States the shapes of the blocks were calculated from, or null for blocks that haven't been calculated.**/
+		private final IBlockState[] states = new IBlockState[4096];
+		/**Blocks that are a full cube.**/
+		private final long[] fullCubes = new long[64];
+		/**Blocks that are a full cube of liquid.**/
+		private final long[] liquids = new long[64];
+		/**Blocks that must always be checked via their block state.**/
+		private final long[] uncacheable = new long[64];
+		/**Block-relative boxes for blocks that aren't empty or full cubes, six bounds per box.  Only created if such blocks exist.**/
+		private double[][] shapes;
+		
+		private Section(Chunk chunk){
+			this.chunk = chunk;
+		}
+	}
+	
+	/**Re-usable list of colliding boxes.  Boxes are stored as six bounds each in a single array, in the same order
+	 * as the cached shapes, so adding boxes doesn't create any objects once the array is large enough.
+	 *
+	 * @author don_bruce
+	 */
+	static class CollidingBoxes{
+		/**Bounds of the boxes, six per box.  Only the first {@link #count} boxes are valid.**/
+		double[] bounds = new double[6*16];
+		/**Number of boxes in the list.**/
+		int count;
+		
+		void clear(){
+			count = 0;
+		}
+		
+		void add(double minX, double minY, double minZ, double maxX, double maxY, double maxZ){
+			int index = count*6;
+			if(index == bounds.length){
+				bounds = Arrays.copyOf(bounds, bounds.length*2);
+			}
+			bounds[index] = minX;
+			bounds[index + 1] = minY;
+			bounds[index + 2] = minZ;
+			bounds[index + 3] = maxX;
+			bounds[index + 4] = maxY;
+			bounds[index + 5] = maxZ;
+			++count;
+		}
+	}
+}
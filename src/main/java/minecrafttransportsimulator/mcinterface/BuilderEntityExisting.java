@@ -8,6 +8,7 @@ import javax.annotation.Nullable;
 
 import minecrafttransportsimulator.MasterLoader;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.BoundingBoxHierarchy;
 import minecrafttransportsimulator.baseclasses.Damage;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.entities.components.AEntityB_Existing;
@@ -36,6 +37,7 @@ import net.minecraftforge.event.RegistryEvent;
 import net.minecraftforge.event.entity.player.AttackEntityEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.world.ExplosionEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
 import net.minecraftforge.fml.common.registry.EntityEntry;
@@ -55,6 +57,11 @@ import net.minecraftforge.fml.common.registry.EntityEntryBuilder;
 public class BuilderEntityExisting extends ABuilderEntityBase{
 	/**Maps Entity class names to instances of the IItemEntityProvider class that creates them.**/
 	protected static final Map<String, IItemEntityProvider<?>> entityMap = new HashMap<String, IItemEntityProvider<?>>();
+	/**Maps entities on servers to the builders built around them.  Used to find the players tracking an entity.
+	 * Builders are removed when they die or their chunk unloads, and all builders in a world are removed when it unloads.**/
+	private static final Map<AEntityB_Existing, BuilderEntityExisting> serverBuilders = new HashMap<AEntityB_Existing, BuilderEntityExisting>();
+	/**Distance, in blocks, that players will track this entity out to, provided the server's view distance allows it.**/
+	private static final int TRACKING_RANGE = 32*16;
 	
 	/**Current entity we are built around.  This MAY be null if we haven't loaded NBT from the server yet.**/
 	protected AEntityB_Existing entity;
@@ -64,6 +71,9 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
 	private WrapperAABBCollective interactionBoxes;
 	/**Collective for collision boxes.  These are used by this entity to make things collide with it.**/
 	private WrapperAABBCollective collisionBoxes;
+	/**Hierarchies for the boxes in the collectives.  Kept across ticks, and refit as the boxes move.**/
+	private final BoundingBoxHierarchy interactionBoxHierarchy = new BoundingBoxHierarchy();
+	private final BoundingBoxHierarchy collisionBoxHierarchy = new BoundingBoxHierarchy();
 	
 	public BuilderEntityExisting(World world){
 		super(world);
@@ -109,8 +119,15 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
 	        		//on that first tick that would cause bad maths.
 	        		//We also do this only every second, as it prevents excess checks.
 	    			entity.world.beginProfiling("CollisionOverhead", false);
-	    			interactionBoxes = new WrapperAABBCollective(interactable.encompassingBox, interactable.getInteractionBoxes());
-	        		collisionBoxes = new WrapperAABBCollective(interactable.encompassingBox, interactable.getCollisionBoxes());
+	    			//The collectives can't have their bounds changed, so only make new ones if the bounds change.
+	    			interactionBoxHierarchy.update(interactable.getInteractionBoxes());
+	    			collisionBoxHierarchy.update(interactable.getCollisionBoxes());
+	    			if(interactionBoxes == null || !interactionBoxes.matches(interactable.encompassingBox, interactable.getInteractionBoxes())){
+	    				interactionBoxes = new WrapperAABBCollective(interactable.encompassingBox, interactable.getInteractionBoxes(), interactionBoxHierarchy);
+	    			}
+	    			if(collisionBoxes == null || !collisionBoxes.matches(interactable.encompassingBox, interactable.getCollisionBoxes())){
+	    				collisionBoxes = new WrapperAABBCollective(interactable.encompassingBox, interactable.getCollisionBoxes(), collisionBoxHierarchy);
+	    			}
 	        		if(interactable.ticksExisted > 1 && interactable.ticksExisted%20 == 0){
         				setSize((float) Math.max(interactable.encompassingBox.widthRadius*2F, interactable.encompassingBox.depthRadius*2F), (float) interactable.encompassingBox.heightRadius*2F);
         				//Make sure the collision bounds for MC are big enough to collide with this entity.
@@ -141,7 +158,7 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
     		if(!loadedFromSavedNBT && loadFromSavedNBT){
 				WrapperWorld worldWrapper = WrapperWorld.getWrapperFor(world);
 				try{
-					entity = entityMap.get(lastLoadedNBT.getString("entityid")).createEntity(worldWrapper, null, new WrapperNBT(lastLoadedNBT));
+					setEntity(entityMap.get(lastLoadedNBT.getString("entityid")).createEntity(worldWrapper, null, new WrapperNBT(lastLoadedNBT)));
 					entity.world.addEntity(entity);
 					loadedFromSavedNBT = true;
 					lastLoadedNBT = null;
@@ -163,9 +180,30 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
 		//Notify internal entity of it being invalid.
 		if(entity != null){
 			entity.remove();
+			if(!world.isRemote){
+				serverBuilders.remove(entity);
+			}
+		}
+	}
+	
+	/**
+	 *  Sets the entity this builder is built around.
+	 */
+	protected void setEntity(AEntityB_Existing entity){
+		this.entity = entity;
+		if(!world.isRemote){
+			serverBuilders.put(entity, this);
 		}
 	}
 	
+	/**
+	 *  Returns the builder built around the passed-in entity, or null if there isn't one.
+	 *  Only works for entities on servers.
+	 */
+	protected static BuilderEntityExisting getServerBuilder(AEntityB_Existing entity){
+		return serverBuilders.get(entity);
+	}
+	
 	@Override
 	public void onRemovedFromWorld(){
 		super.onRemovedFromWorld();
@@ -367,6 +405,22 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
     	}
     }
 	
+	/**
+	 * Remove all builders in the world from the server builder map when the world unloads.
+	 * Builders aren't removed from the world when it unloads, so we won't get them via {@link #setDead()}.
+	 */
+	@SubscribeEvent
+	public static void on(WorldEvent.Unload event){
+		if(!event.getWorld().isRemote){
+			Iterator<BuilderEntityExisting> iterator = serverBuilders.values().iterator();
+			while(iterator.hasNext()){
+				if(iterator.next().world == event.getWorld()){
+					iterator.remove();
+				}
+			}
+		}
+	}
+	
 	/**
 	 * Registers all builder instances that build our own entities into the game.
 	 */
@@ -380,6 +434,6 @@ public class BuilderEntityExisting extends ABuilderEntityBase{
 		}
 		
 		//Now register our own classes.
-		event.getRegistry().register(EntityEntryBuilder.create().entity(BuilderEntityExisting.class).id(new ResourceLocation(MasterLoader.MODID, "mts_entity"), 0).name("mts_entity").tracker(32*16, 5, false).build());
+		event.getRegistry().register(EntityEntryBuilder.create().entity(BuilderEntityExisting.class).id(new ResourceLocation(MasterLoader.MODID, "mts_entity"), 0).name("mts_entity").tracker(TRACKING_RANGE, 5, false).build());
 	}
 }
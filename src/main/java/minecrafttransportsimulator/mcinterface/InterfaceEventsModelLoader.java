@@ -12,11 +12,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.lwjgl.opengl.GL11;
 
 import minecrafttransportsimulator.MasterLoader;
+import minecrafttransportsimulator.baseclasses.IndexedList;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.entities.components.AEntityC_Renderable;
 import minecrafttransportsimulator.items.components.AItemBase;
@@ -104,7 +104,7 @@ public class InterfaceEventsModelLoader{
 					//Only do this if the player the builder is following is the client player.
 					WrapperWorld world = WrapperWorld.getWrapperFor(builder.world);
 					if(Minecraft.getMinecraft().player.equals(builder.playerFollowing) && builder.shouldRenderEntity(partialTicks)){
-						ConcurrentLinkedQueue<AEntityC_Renderable> allEntities = world.renderableEntities;
+						IndexedList<AEntityC_Renderable> allEntities = world.renderableEntities;
 						if(allEntities != null){
 							boolean blendingEnabled = MinecraftForgeClient.getRenderPass() == 1;
 							
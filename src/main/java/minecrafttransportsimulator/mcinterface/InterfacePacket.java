@@ -1,16 +1,37 @@
 package minecrafttransportsimulator.mcinterface;
 
 import java.io.IOException;
-
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import minecrafttransportsimulator.MasterLoader;
+import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
+import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.entities.components.AEntityB_Existing;
+import minecrafttransportsimulator.entities.instances.APart;
 import minecrafttransportsimulator.packets.components.APacketBase;
+import minecrafttransportsimulator.packets.components.IPacketFactory;
+import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.world.WorldServer;
 import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
+import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedInEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent.PlayerLoggedOutEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.common.gameevent.TickEvent.Phase;
+import net.minecraftforge.fml.common.network.FMLNetworkEvent.ClientConnectedToServerEvent;
 import net.minecraftforge.fml.common.network.NetworkRegistry;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessage;
 import net.minecraftforge.fml.common.network.simpleimpl.IMessageHandler;
@@ -23,12 +44,52 @@ import net.minecraftforge.fml.relauncher.Side;
  * object to send over, which contains a handler for how to handle said object.
  * Forge packets do something similar, but Forge can't be bothered to keep networking
  * code the same, so we roll our own here. 
+ * <br><br>
+ * Packets aren't sent right away.  Instead, they are added to a bundle for the connection
+ * they are going over, and each bundle is sent as a single message at the end of the tick.
+ * This saves on the framing and thread hand-off that each message would otherwise need, as
+ * a single action can send many packets.  The packets in a bundle are handled in the order
+ * they were sent in, so this is invisible to the packets themselves.
+ * <br><br>
+ * Strings that are sent often, like variable names, can be sent as IDs via {@link #getStringID(String)}.
+ * Each side gives IDs to strings the first time it sends them, and sends a {@link PacketStringTableEntry}
+ * to every connection before the packet that uses them.  Players get all IDs the server has given out
+ * when they log in, and clients start over with new IDs each time they connect.
  *
  * @author don_bruce
  */
+@EventBusSubscriber
 public class InterfacePacket{
 	private static final SimpleNetworkWrapper network = NetworkRegistry.INSTANCE.newSimpleChannel(MasterLoader.MODID);
-	private static final BiMap<Byte, Class<? extends APacketBase>> packetMappings = HashBiMap.create();
+	/**Factories for creating packets, indexed by the unsigned value of their packet index.**/
+	private static final IPacketFactory<?>[] packetFactories = new IPacketFactory<?>[256];
+	private static final Map<Class<? extends APacketBase>, Byte> packetIndexes = new HashMap<Class<? extends APacketBase>, Byte>();
+	/**Max size, in bytes, of a bundle before it is sent early.  Client-to-server messages can't be larger than 32767 bytes.**/
+	private static final int MAX_BUNDLE_SIZE = 32000;
+	/**Max size, in bytes, of the length written before each packet in a bundle.**/
+	private static final int MAX_LENGTH_SIZE = 5;
+	/**Bundles of packets waiting to be sent to each client.  Only used on servers.**/
+	private static final Map<EntityPlayerMP, ByteBuf> clientBundles = new LinkedHashMap<EntityPlayerMP, ByteBuf>();
+	/**Bundle of packets waiting to be sent to the server.  Only used on clients.**/
+	private static ByteBuf serverBundle;
+	/**IDs the server has given strings it sends to clients.**/
+	private static final StringTable serverSentStrings = new StringTable();
+	/**IDs this client has given strings it sends to the server.**/
+	private static final StringTable clientSentStrings = new StringTable();
+	/**IDs the server has given strings, as received on this client.**/
+	private static final StringTable serverReceivedStrings = new StringTable();
+	/**IDs each client has given strings, as received on the server.**/
+	private static final Map<EntityPlayerMP, StringTable> clientReceivedStrings = new HashMap<EntityPlayerMP, StringTable>();
+	/**True if the packet being encoded is going to the server.  Tells {@link #getStringID(String)} which IDs to use.**/
+	private static boolean encodingToServer;
+	/**IDs for the strings in the packets being decoded.**/
+	private static StringTable decodingStrings;
+	/**True if the packet being decoded used a string ID that isn't in {@link #decodingStrings}.**/
+	private static boolean decodingInvalidString;
+	/**Max number of strings that can be given IDs per connection.  Strings past this are sent in full.**/
+	private static final int MAX_STRING_TABLE_SIZE = 4096;
+	/**Max length of strings that can be given IDs.  Longer strings are sent in full.**/
+	private static final int MAX_STRING_TABLE_STRING_LENGTH = 128;
 	
 	/**
 	 *  Called to init this network.  Needs to be done after networking is ready.
@@ -41,37 +102,87 @@ public class InterfacePacket{
 		
 		//Register internal packets, then external.
 		byte packetIndex = 0;
-		registerPacket(packetIndex++, PacketEntityCSHandshakeClient.class);
-		registerPacket(packetIndex++, PacketEntityCSHandshakeServer.class);
+		registerPacket(packetIndex++, PacketEntityCSHandshakeClient.class, PacketEntityCSHandshakeClient::new);
+		registerPacket(packetIndex++, PacketEntityCSHandshakeServer.class, PacketEntityCSHandshakeServer::new);
+		registerPacket(packetIndex++, PacketStringTableEntry.class, PacketStringTableEntry::new);
 		APacketBase.initPackets(packetIndex);
 	}
 	
 	/**
-	 *  Registers the passed-in packet with the interface.
+	 *  Registers the passed-in packet with the interface.  The factory is used to create
+	 *  the packet when it arrives, and should normally be the packet's buffer constructor.
 	 */
-	public static void registerPacket(byte packetIndex, Class<? extends APacketBase> packetClass){
-		packetMappings.put(packetIndex, packetClass);
+	public static <PacketType extends APacketBase> void registerPacket(byte packetIndex, Class<PacketType> packetClass, IPacketFactory<PacketType> packetFactory){
+		packetFactories[packetIndex & 0xFF] = packetFactory;
+		packetIndexes.put(packetClass, packetIndex);
 	}
 	
 	/**
 	 *  Gets the index for the passed-in packet from the mapping.
 	 */
 	public static byte getPacketIndex(APacketBase packet){
-		return packetMappings.inverse().get(packet.getClass());
+		return packetIndexes.get(packet.getClass());
 	}
 	
 	/**
 	 *  Sends the passed-in packet to the server.
 	 */
 	public static void sendToServer(APacketBase packet){
-		network.sendToServer(new WrapperPacket(packet));
+		addToBundle(null, encodePacket(packet, true));
 	}
 	
 	/**
-	 *  Sends the passed-in packet to all clients.
+	 *  Sends the passed-in packet to all clients.  If the packet is for an entity, then it is
+	 *  only sent to the clients that MC is tracking the entity for, as clients that aren't won't
+	 *  have the entity to apply the packet to.  Packets for parts go to the clients tracking the
+	 *  entity the part is on, and packets for tile entities go to the clients watching their chunk.
+	 *  Once other clients start tracking the entity, they will get its current state when it is
+	 *  loaded, so they don't need any of the packets sent before then.
 	 */
 	public static void sendToAllClients(APacketBase packet){
-		network.sendToAll(new WrapperPacket(packet));
+		AEntityA_Base entity = packet.getEntity();
+		while(entity instanceof APart){
+			entity = ((APart) entity).entityOn;
+		}
+		if(entity instanceof ATileEntityBase && entity.world.world instanceof WorldServer){
+			sendToWatchingClients(packet, (WorldServer) entity.world.world, ((ATileEntityBase<?>) entity).position);
+			return;
+		}else if(entity instanceof AEntityB_Existing && entity.world.world instanceof WorldServer){
+			BuilderEntityExisting builder = BuilderEntityExisting.getServerBuilder((AEntityB_Existing) entity);
+			if(builder != null){
+				ByteBuf encodedPacket = null;
+				for(EntityPlayer player : ((WorldServer) entity.world.world).getEntityTracker().getTrackingPlayers(builder)){
+					if(encodedPacket == null){
+						encodedPacket = encodePacket(packet, false);
+					}
+					addToBundle((EntityPlayerMP) player, encodedPacket);
+				}
+				return;
+			}
+		}
+		
+		ByteBuf encodedPacket = encodePacket(packet, false);
+		for(EntityPlayerMP player : FMLCommonHandler.instance().getMinecraftServerInstance().getPlayerList().getPlayers()){
+			addToBundle(player, encodedPacket);
+		}
+	}
+	
+	/**
+	 *  Sends the passed-in packet to all clients that have the chunk with the passed-in position loaded.
+	 *  The packet is only encoded once, no matter how many clients get it.
+	 */
+	private static void sendToWatchingClients(APacketBase packet, WorldServer world, Point3d position){
+		int chunkX = MathHelper.floor(position.x) >> 4;
+		int chunkZ = MathHelper.floor(position.z) >> 4;
+		ByteBuf encodedPacket = null;
+		for(EntityPlayer player : world.playerEntities){
+			if(player instanceof EntityPlayerMP && world.getPlayerChunkMap().isPlayerWatchingChunk((EntityPlayerMP) player, chunkX, chunkZ)){
+				if(encodedPacket == null){
+					encodedPacket = encodePacket(packet, false);
+				}
+				addToBundle((EntityPlayerMP) player, encodedPacket);
+			}
+		}
 	}
 	
 	/**
@@ -80,7 +191,205 @@ public class InterfacePacket{
 	 *  clients don't know about other player's network pipelines.
 	 */
 	public static void sendToPlayer(APacketBase packet, WrapperPlayer player){
-		network.sendTo(new WrapperPacket(packet), (EntityPlayerMP) player.player);
+		addToBundle((EntityPlayerMP) player.player, encodePacket(packet, false));
+	}
+	
+	/**
+	 *  Returns the ID for the passed-in string, for the packet currently being encoded.
+	 *  If the string doesn't have an ID yet, one is given to it, and the ID is sent to
+	 *  every connection the packet could go to.  Strings sent this way should come from
+	 *  a limited set, such as variable names, as their IDs are kept for the whole session.
+	 *  Returns -1 if the string can't be given an ID, as it is too long, or the connection has
+	 *  given out as many IDs as the other side will take.  Such strings should be sent in full.
+	 */
+	public static int getStringID(String string){
+		synchronized(clientBundles){
+			StringTable sentStrings = encodingToServer ? clientSentStrings : serverSentStrings;
+			int stringID = sentStrings.getID(string);
+			if(stringID == -1 && string.length() <= MAX_STRING_TABLE_STRING_LENGTH && sentStrings.strings.size() < MAX_STRING_TABLE_SIZE){
+				stringID = sentStrings.add(string);
+				if(encodingToServer){
+					addToBundle(null, encodePacket(new PacketStringTableEntry(stringID, string), true));
+				}else{
+					ByteBuf encodedEntry = encodePacket(new PacketStringTableEntry(stringID, string), false);
+					for(EntityPlayerMP player : FMLCommonHandler.instance().getMinecraftServerInstance().getPlayerList().getPlayers()){
+						addToBundle(player, encodedEntry);
+					}
+				}
+			}
+			return stringID;
+		}
+	}
+	
+	/**
+	 *  Returns the string for the passed-in ID, for the packet currently being decoded.
+	 *  If the connection hasn't given out that ID, an empty string is returned, and the
+	 *  packet is dropped once it has been read, so it never gets to be handled.
+	 */
+	public static String getString(long stringID){
+		String string = stringID >= 0 && stringID < decodingStrings.strings.size() ? decodingStrings.strings.get((int) stringID) : null;
+		if(string == null){
+			decodingInvalidString = true;
+			return "";
+		}else{
+			return string;
+		}
+	}
+	
+	/**
+	 *  Encodes the passed-in packet to a buffer, so it can be added to bundles.
+	 */
+	private static ByteBuf encodePacket(APacketBase packet, boolean toServer){
+		synchronized(clientBundles){
+			encodingToServer = toServer;
+			ByteBuf encodedPacket = Unpooled.buffer();
+			packet.writeToBuffer(encodedPacket);
+			return encodedPacket;
+		}
+	}
+	
+	/**
+	 *  Adds the passed-in encoded packet to the bundle for the passed-in player, or
+	 *  the server if the player is null.  If this would make the bundle too large,
+	 *  the bundle is sent first and a new one is started.  A single packet larger than
+	 *  the max bundle size is sent right away, as it can't share a bundle anyways.
+	 *  Each packet is prefixed with its length, so a packet that can't be read can
+	 *  be skipped without losing the packets after it.
+	 */
+	private static void addToBundle(EntityPlayerMP player, ByteBuf encodedPacket){
+		synchronized(clientBundles){
+			ByteBuf bundle = player != null ? clientBundles.get(player) : serverBundle;
+			if(bundle != null && bundle.readableBytes() + MAX_LENGTH_SIZE + encodedPacket.readableBytes() > MAX_BUNDLE_SIZE){
+				sendBundle(player, bundle);
+				bundle = null;
+			}
+			if(bundle == null){
+				bundle = Unpooled.buffer();
+				if(player != null){
+					clientBundles.put(player, bundle);
+				}else{
+					serverBundle = bundle;
+				}
+			}
+			writeLengthToBundle(encodedPacket.readableBytes(), bundle);
+			bundle.writeBytes(encodedPacket, encodedPacket.readerIndex(), encodedPacket.readableBytes());
+			if(bundle.readableBytes() > MAX_BUNDLE_SIZE){
+				sendBundle(player, bundle);
+				if(player != null){
+					clientBundles.remove(player);
+				}else{
+					serverBundle = null;
+				}
+			}
+		}
+	}
+	
+	/**
+	 *  Writes the passed-in packet length to the bundle, using 7 bits per byte, so small packets only need one byte.
+	 */
+	private static void writeLengthToBundle(int length, ByteBuf bundle){
+		while((length & ~0x7F) != 0){
+			bundle.writeByte((length & 0x7F) | 0x80);
+			length >>>= 7;
+		}
+		bundle.writeByte(length);
+	}
+	
+	/**
+	 *  Reads a packet length written by {@link #writeLengthToBundle(int, ByteBuf)} from the bundle.
+	 *  Returns -1 if the length isn't valid, as the bundle can't be read past that point.
+	 */
+	private static int readLengthFromBundle(ByteBuf bundle){
+		int length = 0;
+		for(int i=0; i<MAX_LENGTH_SIZE; ++i){
+			if(!bundle.isReadable()){
+				return -1;
+			}
+			byte currentByte = bundle.readByte();
+			length |= (currentByte & 0x7F) << i*7;
+			if((currentByte & 0x80) == 0){
+				return length <= bundle.readableBytes() ? length : -1;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 *  Sends the passed-in bundle to the passed-in player, or to the server if the player is null.
+	 */
+	private static void sendBundle(EntityPlayerMP player, ByteBuf bundle){
+		if(player == null){
+			network.sendToServer(new WrapperPacket(bundle));
+		}else if(!player.hasDisconnected()){
+			network.sendTo(new WrapperPacket(bundle), player);
+		}
+	}
+	
+	/**
+	 *  Sends all bundles for clients at the end of the server tick.
+	 */
+	@SubscribeEvent
+	public static void on(TickEvent.ServerTickEvent event){
+		if(event.phase.equals(Phase.END)){
+			synchronized(clientBundles){
+				for(Entry<EntityPlayerMP, ByteBuf> bundleEntry : clientBundles.entrySet()){
+					sendBundle(bundleEntry.getKey(), bundleEntry.getValue());
+				}
+				clientBundles.clear();
+			}
+		}
+	}
+	
+	/**
+	 *  Sends all string IDs to players when they log in, so they can read packets that use them.
+	 */
+	@SubscribeEvent
+	public static void on(PlayerLoggedInEvent event){
+		if(event.player instanceof EntityPlayerMP){
+			synchronized(clientBundles){
+				EntityPlayerMP player = (EntityPlayerMP) event.player;
+				clientReceivedStrings.put(player, new StringTable());
+				for(int i=0; i<serverSentStrings.strings.size(); ++i){
+					addToBundle(player, encodePacket(new PacketStringTableEntry(i, serverSentStrings.strings.get(i)), false));
+				}
+			}
+		}
+	}
+	
+	/**
+	 *  Removes the string IDs for players when they log out.
+	 */
+	@SubscribeEvent
+	public static void on(PlayerLoggedOutEvent event){
+		synchronized(clientBundles){
+			clientReceivedStrings.remove(event.player);
+		}
+	}
+	
+	/**
+	 *  Clears the string IDs on clients when they connect, as the server will have its own.
+	 */
+	@SubscribeEvent
+	public static void on(ClientConnectedToServerEvent event){
+		synchronized(clientBundles){
+			clientSentStrings.clear();
+			serverReceivedStrings.clear();
+		}
+	}
+	
+	/**
+	 *  Sends the bundle for the server at the end of the client tick.
+	 */
+	@SubscribeEvent
+	public static void on(TickEvent.ClientTickEvent event){
+		if(event.phase.equals(Phase.END)){
+			synchronized(clientBundles){
+				if(serverBundle != null){
+					sendBundle(null, serverBundle);
+					serverBundle = null;
+				}
+			}
+		}
 	}
 	
 	/**
@@ -119,68 +428,161 @@ public class InterfacePacket{
 	
 	/**
 	 *  Custom class for packets.  Allows for a common packet to be used for all MC versions, 
-	 *  as well as less boilerplate code due to thread operations.  Note that when this packet 
-	 *  arrives on the other side of the pipeline, MC won't know what class to construct.
-	 *  That's up to us to handle via the packet's first byte.  Also note that this class
-	 *  must be public, as if it is private MC won't be able to construct it due to access violations.
+	 *  as well as less boilerplate code due to thread operations.  Each one of these carries
+	 *  a bundle of our packets, one after the other, each prefixed with its length.  Note that when this packet arrives on the
+	 *  other side of the pipeline, MC won't know what classes to construct.  That's up to us
+	 *  to handle via the first byte of each packet.  Also note that this class must be public,
+	 *  as if it is private MC won't be able to construct it due to access violations.
+	 *  <br><br>
+	 *  The packets aren't read until the bundle gets to the handler, as which string IDs 
+	 *  they use depends on which connection they came from, which isn't known until then.
 	 */
 	public static class WrapperPacket implements IMessage{
-		private APacketBase packet;
+		private ByteBuf bundle;
+		private final List<APacketBase> packets = new ArrayList<APacketBase>();
 		
 		/**Do NOT call!  Required to keep Forge from crashing.**/
 		public WrapperPacket(){}
 		
-		public WrapperPacket(APacketBase packet){
-			this.packet = packet;
+		private WrapperPacket(ByteBuf bundle){
+			this.bundle = bundle;
 		}
 				
 		@Override
 		public void fromBytes(ByteBuf buf){
-			byte packetIndex = buf.readByte();
-			try{
-				Class<? extends APacketBase> packetClass = packetMappings.get(packetIndex);
-				packet = packetClass.getConstructor(ByteBuf.class).newInstance(buf);
-			}catch(Exception e){
-				e.printStackTrace();
+			bundle = buf.copy();
+		}
+		
+		/**
+		 *  Reads the packets in the bundle, using the string IDs for the passed-in player's
+		 *  connection, or the server's connection if the player is null.
+		 */
+		private void readPackets(EntityPlayerMP player){
+			synchronized(clientBundles){
+				StringTable receivedStrings = serverReceivedStrings;
+				if(player != null){
+					receivedStrings = clientReceivedStrings.get(player);
+					if(receivedStrings == null){
+						receivedStrings = new StringTable();
+						clientReceivedStrings.put(player, receivedStrings);
+					}
+				}
+				decodingStrings = receivedStrings;
+				while(bundle.isReadable()){
+					int packetLength = readLengthFromBundle(bundle);
+					if(packetLength <= 0){
+						//Can't know where the next packet starts without a valid length, so drop the rest of the bundle.
+						InterfaceCore.logError("Got a packet bundle with an invalid packet length.  Dropping the rest of the bundle.");
+						break;
+					}
+					//Read each packet from its own slice, so one that fails to read doesn't affect the ones after it.
+					ByteBuf packetBuffer = bundle.readSlice(packetLength);
+					byte packetIndex = packetBuffer.readByte();
+					IPacketFactory<?> packetFactory = packetFactories[packetIndex & 0xFF];
+					if(packetFactory == null){
+						InterfaceCore.logError("Got a packet with unknown index " + (packetIndex & 0xFF) + ".  Skipping it.");
+						continue;
+					}
+					try{
+						decodingInvalidString = false;
+						APacketBase packet = packetFactory.createPacket(packetBuffer);
+						if(packet instanceof PacketStringTableEntry){
+							//Add the string right away, as the packets after this one may need it to be read.
+							//IDs are given out in order, so any entry that isn't the next one is invalid.
+							PacketStringTableEntry entry = (PacketStringTableEntry) packet;
+							if(entry.stringID != receivedStrings.strings.size() || receivedStrings.strings.size() >= MAX_STRING_TABLE_SIZE || entry.string.length() > MAX_STRING_TABLE_STRING_LENGTH){
+								InterfaceCore.logError("Got an invalid string ID " + entry.stringID + " from " + (player != null ? player.getName() : "the server") + ".  Dropping the rest of the bundle.");
+								if(player != null){
+									//Clients that send invalid IDs are either broken or malicious, so don't keep them around.
+									FMLCommonHandler.instance().getMinecraftServerInstance().addScheduledTask(() -> player.connection.disconnect(new TextComponentString("Invalid packet string ID.")));
+								}
+								break;
+							}
+							receivedStrings.add(entry.string);
+						}else if(decodingInvalidString){
+							InterfaceCore.logError("Got a packet with index " + (packetIndex & 0xFF) + " that used an unknown string ID.  Skipping it.");
+						}else{
+							packets.add(packet);
+						}
+					}catch(Exception e){
+						InterfaceCore.logError("Failed to read packet with index " + (packetIndex & 0xFF) + ".  Skipping it.");
+						e.printStackTrace();
+					}
+				}
+				decodingStrings = null;
 			}
 		}
 
 		@Override
 		public void toBytes(ByteBuf buf){
-			packet.writeToBuffer(buf);
+			buf.writeBytes(bundle, bundle.readerIndex(), bundle.readableBytes());
 		}
 	};
 	
 	/**
-	 *  Custom class for handling packets.  This handler will have an instance of the packet
-	 *  class passed-in with all fields populated by {@link WrapperPacket#fromBytes}.
+	 *  Custom class for handling packets.  This handler will read the packets from the bundle
+	 *  via {@link WrapperPacket#readPackets}, and then handle them.
 	 */
 	public static class WrapperHandler implements IMessageHandler<WrapperPacket, IMessage>{
 		@Override
 		public IMessage onMessage(WrapperPacket message, MessageContext ctx){
-			if(message.packet.runOnMainThread()){
+			message.readPackets(ctx.side.isServer() ? ctx.getServerHandler().player : null);
+			
+			//If any packet in the bundle needs the main thread, handle them all there.
+			//This keeps them in order, and only needs one task for the whole bundle.
+			boolean runOnMainThread = false;
+			for(APacketBase packet : message.packets){
+				if(packet.runOnMainThread()){
+					runOnMainThread = true;
+					break;
+				}
+			}
+			if(runOnMainThread){
 				//Need to put this in a runnable to not run it on the network thread and get a CME.
 				FMLCommonHandler.instance().getWorldThread(ctx.netHandler).addScheduledTask(new Runnable(){
 					@Override
 					public void run(){
-						//We need to use side-specific getters here to avoid side-specific classes from trying to be loaded
-						//by the JVM when this method is created.  Failure to do this will result in network faults.
-						//For this, we use abstract methods that are extended in our sub-classes.
-						if(ctx.side.isServer()){
-							message.packet.handle(getServerWorld(ctx));
-						}else{
-							message.packet.handle(InterfaceClient.getClientWorld());
-						}
+						handlePackets(message, ctx);
 					}
 				});
 			}else{
-				if(ctx.side.isServer()){
-					message.packet.handle(getServerWorld(ctx));
-				}else{
-					message.packet.handle(InterfaceClient.getClientWorld());
-				}
+				handlePackets(message, ctx);
 			}
 			return null;
 		}
+		
+		private static void handlePackets(WrapperPacket message, MessageContext ctx){
+			//We need to use side-specific getters here to avoid side-specific classes from trying to be loaded
+			//by the JVM when this method is created.  Failure to do this will result in network faults.
+			//For this, we use abstract methods that are extended in our sub-classes.
+			WrapperWorld world = ctx.side.isServer() ? getServerWorld(ctx) : InterfaceClient.getClientWorld();
+			for(APacketBase packet : message.packets){
+				packet.handle(world);
+			}
+		}
 	};
+	
+	/**
+	 *  Table of IDs given to strings for a connection.  IDs start at 0 and count up.
+	 */
+	private static class StringTable{
+		private final List<String> strings = new ArrayList<String>();
+		private final Map<String, Integer> stringIDs = new HashMap<String, Integer>();
+		
+		private int getID(String string){
+			Integer stringID = stringIDs.get(string);
+			return stringID != null ? stringID : -1;
+		}
+		
+		private int add(String string){
+			strings.add(string);
+			stringIDs.put(string, strings.size() - 1);
+			return strings.size() - 1;
+		}
+		
+		private void clear(){
+			strings.clear();
+			stringIDs.clear();
+		}
+	}
 }
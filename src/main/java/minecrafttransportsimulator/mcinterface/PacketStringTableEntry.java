@@ -0,0 +1,46 @@
+package minecrafttransportsimulator.mcinterface;
+
+import io.netty.buffer.ByteBuf;
+import minecrafttransportsimulator.packets.components.APacketBase;
+
+/**Packet used to tell the other side of a connection the ID of a string sent via
+ * {@link InterfacePacket#getStringID(String)}.  Sent before the first packet that uses
+ * the ID, and for all IDs when a player logs in.  This packet is never handled like other
+ * packets.  Instead, the interface adds its string to the connection's table as soon as
+ * it is read, as the packets after it in the same bundle will need it to be read.
+ *
+ * @author don_bruce
+ */
+public class PacketStringTableEntry extends APacketBase{
+	final int stringID;
+	final String string;
+
+	public PacketStringTableEntry(int stringID, String string){
+		super(null);
+		this.stringID = stringID;
+		this.string = string;
+	}
+
+	public PacketStringTableEntry(ByteBuf buf){
+		super(buf);
+		this.stringID = (int) readVarLongFromBuffer(buf);
+		this.string = readStringFromBuffer(buf);
+	}
+
+	@Override
+	public void writeToBuffer(ByteBuf buf){
+		super.writeToBuffer(buf);
+		writeVarLongToBuffer(stringID, buf);
+		writeStringToBuffer(string, buf);
+	}
+
+	@Override
+	public boolean runOnMainThread(){
+		return false;
+	}
+
+	@Override
+	public void handle(WrapperWorld world){
+		//Never called, as the interface adds the string when this packet is read.
+	}
+}
@@ -5,6 +5,7 @@ import java.util.Collection;
 import javax.annotation.Nullable;
 
 import minecrafttransportsimulator.baseclasses.BoundingBox;
+import minecrafttransportsimulator.baseclasses.BoundingBoxHierarchy;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.AxisAlignedBB;
@@ -15,14 +16,18 @@ import net.minecraft.util.math.Vec3d;
  * calls and does checks for each BoundingBox that's in the passed-in list.
  * Mostly used for entities that need complex collision mapping, because MC don't let you have more
  * than one AABB per entity, but somehow you can have more than one for something as small as a block?
+ * Checks are done through a {@link BoundingBoxHierarchy} of the boxes, so entities with many boxes
+ * don't need to check all of them for every call.  The hierarchy is owned by the caller, and may be
+ * shared by multiple collectives, as it is kept up-to-date between them.
  * 
  * @author don_bruce
  */
 public class WrapperAABBCollective extends AxisAlignedBB{
 	protected final Collection<BoundingBox> boxes;
+	protected final BoundingBoxHierarchy hierarchy;
 	protected BoundingBox lastBoxRayTraced;
 	
-	public WrapperAABBCollective(BoundingBox encompassingBox, Collection<BoundingBox> boxes){
+	public WrapperAABBCollective(BoundingBox encompassingBox, Collection<BoundingBox> boxes, BoundingBoxHierarchy hierarchy){
 		super(	encompassingBox.globalCenter.x - encompassingBox.widthRadius,
 				encompassingBox.globalCenter.y - encompassingBox.heightRadius,
 				encompassingBox.globalCenter.z - encompassingBox.depthRadius,
@@ -31,6 +36,21 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 				encompassingBox.globalCenter.z + encompassingBox.depthRadius
 			);
 		this.boxes = boxes;
+		this.hierarchy = hierarchy;
+	}
+	
+	/**
+	 *  Returns true if this collective is for the passed-in boxes, and its bounds match the passed-in box.
+	 *  If so, it can be re-used rather than creating a new one.
+	 */
+	public boolean matches(BoundingBox encompassingBox, Collection<BoundingBox> boxes){
+		return this.boxes == boxes &&
+				minX == encompassingBox.globalCenter.x - encompassingBox.widthRadius &&
+				minY == encompassingBox.globalCenter.y - encompassingBox.heightRadius &&
+				minZ == encompassingBox.globalCenter.z - encompassingBox.depthRadius &&
+				maxX == encompassingBox.globalCenter.x + encompassingBox.widthRadius &&
+				maxY == encompassingBox.globalCenter.y + encompassingBox.heightRadius &&
+				maxZ == encompassingBox.globalCenter.z + encompassingBox.depthRadius;
 	}
 	
 	@Override
@@ -40,88 +60,23 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 	
 	@Override
 	public double calculateXOffset(AxisAlignedBB box, double offset){
-		for(BoundingBox testBox : boxes){
-			if(box.maxY > testBox.globalCenter.y - testBox.heightRadius && box.minY < testBox.globalCenter.y + testBox.heightRadius && box.maxZ > testBox.globalCenter.z - testBox.depthRadius && box.minZ < testBox.globalCenter.z + testBox.depthRadius){
-				if(offset > 0.0D){
-					//Positive offset, box.maxX <= this.minX.
-	                double collisionDepth = testBox.globalCenter.x - testBox.widthRadius - box.maxX;
-	                if(collisionDepth >= 0 && collisionDepth < offset){
-	                    offset = collisionDepth;
-	                }
-	            }else if(offset < 0.0D){
-	            	//Negative offset, box.minX >= this.maxX.
-	                double collisionDepth = testBox.globalCenter.x + testBox.widthRadius - box.minX;
-	                if(collisionDepth <= 0 && collisionDepth > offset){
-	                    offset = collisionDepth;
-	                }
-	            }
-	        }
-		}
-		return offset;
+		return hierarchy.calculateOffset(0, box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ, offset);
     }
 	
 	@Override
 	public double calculateYOffset(AxisAlignedBB box, double offset){
-		for(BoundingBox testBox : boxes){
-			if(box.maxX > testBox.globalCenter.x - testBox.widthRadius && box.minX < testBox.globalCenter.x + testBox.widthRadius && box.maxZ > testBox.globalCenter.z - testBox.depthRadius && box.minZ < testBox.globalCenter.z + testBox.depthRadius){
-				if(offset > 0.0D){
-					//Positive offset, box.maxX <= this.minX.
-	                double collisionDepth = testBox.globalCenter.y - testBox.heightRadius - box.maxY;
-	                if(collisionDepth >= 0 && collisionDepth < offset){
-	                    offset = collisionDepth;
-	                }
-	            }else if(offset < 0.0D){
-	            	//Negative offset, box.minX >= this.maxX.
-	                double collisionDepth = testBox.globalCenter.y + testBox.heightRadius - box.minY;
-	                if(collisionDepth <= 0 && collisionDepth > offset){
-	                    offset = collisionDepth;
-	                }
-	            }
-	        }
-		}
-		return offset;
+		return hierarchy.calculateOffset(1, box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ, offset);
     }
 	
 	@Override
 	public double calculateZOffset(AxisAlignedBB box, double offset){
-		for(BoundingBox testBox : boxes){
-			if(box.maxX > testBox.globalCenter.x - testBox.widthRadius && box.minX < testBox.globalCenter.x + testBox.widthRadius && box.maxY > testBox.globalCenter.y - testBox.heightRadius && box.minY < testBox.globalCenter.y + testBox.heightRadius){
-				if(offset > 0.0D){
-					//Positive offset, box.maxX <= this.minX.
-	                double collisionDepth = testBox.globalCenter.z - testBox.depthRadius - box.maxZ;
-	                if(collisionDepth >= 0 && collisionDepth < offset){
-	                    offset = collisionDepth;
-	                }
-	            }else if(offset < 0.0D){
-	            	//Negative offset, box.minX >= this.maxX.
-	                double collisionDepth = testBox.globalCenter.z + testBox.depthRadius - box.minZ;
-	                if(collisionDepth <= 0 && collisionDepth > offset){
-	                    offset = collisionDepth;
-	                }
-	            }
-	        }
-		}
-		return offset;
+		return hierarchy.calculateOffset(2, box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ, offset);
     }
 	
 	@Override
     public boolean intersects(double otherMinX, double otherMinY, double otherMinZ, double otherMaxX, double otherMaxY, double otherMaxZ){
 		//CHeck super first, as that's the encompassing box.
-		if(super.intersects(otherMinX, otherMinY, otherMinZ, otherMaxX, otherMaxY, otherMaxZ)){
-			for(BoundingBox testBox : boxes){
-					if(
-						otherMaxX > testBox.globalCenter.x - testBox.widthRadius && 
-						otherMinX < testBox.globalCenter.x + testBox.widthRadius && 
-						otherMaxY > testBox.globalCenter.y - testBox.heightRadius && 
-						otherMinY < testBox.globalCenter.y + testBox.heightRadius &&
-						otherMaxZ > testBox.globalCenter.z - testBox.depthRadius &&
-						otherMinZ < testBox.globalCenter.z + testBox.depthRadius)
-					{
-					return true;
-				}
-			}
-		}
-		return false;
+		return super.intersects(otherMinX, otherMinY, otherMinZ, otherMaxX, otherMaxY, otherMaxZ) && hierarchy.intersects(otherMinX, otherMinY, otherMinZ, otherMaxX, otherMaxY, otherMaxZ);
     }
 	
 	@Override
@@ -132,35 +87,27 @@ public class WrapperAABBCollective extends AxisAlignedBB{
 	@Override
 	@Nullable
     public RayTraceResult calculateIntercept(Vec3d vecA, Vec3d vecB){
-		lastBoxRayTraced = null;
-		//Check all the bounding boxes for collision to see if we hit one of them.
+		//Find the closest box we hit, and then get the side of it we hit.
 		Point3d start = new Point3d(vecA.x, vecA.y, vecA.z);
 		Point3d end = new Point3d(vecB.x, vecB.y, vecB.z);
-		Point3d intersection = null;
-		EnumFacing sideHit = null;
-		for(BoundingBox testBox : boxes){
-			Point3d testIntersection = testBox.getIntersectionPoint(start, end);
-			if(testIntersection != null){
-				if(intersection == null || testIntersection.distanceTo(start) < intersection.distanceTo(start)){
-					intersection = testIntersection;
-					if(testIntersection.x == testBox.globalCenter.x - testBox.widthRadius){
-						sideHit = EnumFacing.WEST;
-					}else if(testIntersection.x == testBox.globalCenter.x + testBox.widthRadius){
-						sideHit = EnumFacing.EAST;
-					}else if(testIntersection.y == testBox.globalCenter.y - testBox.heightRadius){
-						sideHit = EnumFacing.UP;
-					}else if(testIntersection.y == testBox.globalCenter.y + testBox.heightRadius){
-						sideHit = EnumFacing.DOWN;
-					}else if(testIntersection.z == testBox.globalCenter.z - testBox.depthRadius){
-						sideHit = EnumFacing.NORTH;
-					}else{
-						sideHit = EnumFacing.SOUTH;
-					}
-					lastBoxRayTraced = testBox;
-				}
+		lastBoxRayTraced = hierarchy.getClosestIntersectedBox(start, end);
+		if(lastBoxRayTraced != null){
+			BoundingBox testBox = lastBoxRayTraced;
+			Point3d intersection = testBox.getIntersectionPoint(start, end);
+			EnumFacing sideHit;
+			if(intersection.x == testBox.globalCenter.x - testBox.widthRadius){
+				sideHit = EnumFacing.WEST;
+			}else if(intersection.x == testBox.globalCenter.x + testBox.widthRadius){
+				sideHit = EnumFacing.EAST;
+			}else if(intersection.y == testBox.globalCenter.y - testBox.heightRadius){
+				sideHit = EnumFacing.UP;
+			}else if(intersection.y == testBox.globalCenter.y + testBox.heightRadius){
+				sideHit = EnumFacing.DOWN;
+			}else if(intersection.z == testBox.globalCenter.z - testBox.depthRadius){
+				sideHit = EnumFacing.NORTH;
+			}else{
+				sideHit = EnumFacing.SOUTH;
 			}
-		}
-		if(intersection != null){
 			return new RayTraceResult(new Vec3d(intersection.x, intersection.y, intersection.z), sideHit);
 		}else{
 			return null;
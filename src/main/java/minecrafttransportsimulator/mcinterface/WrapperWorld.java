@@ -5,16 +5,18 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Map.Entry;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
+import minecrafttransportsimulator.baseclasses.BlockHit;
 import minecrafttransportsimulator.baseclasses.BoundingBox;
 import minecrafttransportsimulator.baseclasses.Damage;
+import minecrafttransportsimulator.baseclasses.EntitySpatialHash;
+import minecrafttransportsimulator.baseclasses.EntitySweepAndPrune;
+import minecrafttransportsimulator.baseclasses.IndexedList;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.blocks.components.ABlockBase;
 import minecrafttransportsimulator.blocks.components.ABlockBase.Axis;
@@ -63,12 +65,13 @@ import net.minecraft.util.NonNullList;
 import net.minecraft.util.SoundCategory;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.math.RayTraceResult;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
 import net.minecraftforge.common.IPlantable;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.world.ChunkEvent;
 import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
 import net.minecraftforge.fml.common.eventhandler.SubscribeEvent;
@@ -90,16 +93,31 @@ public class WrapperWorld{
 	private static final Map<World, WrapperWorld> worldWrappers = new HashMap<World, WrapperWorld>();
 	private final Map<WrapperPlayer, Integer> ticksSincePlayerJoin = new HashMap<WrapperPlayer, Integer>();
 	private final Map<WrapperPlayer, BuilderEntityRenderForwarder> activePlayerFollowers = new HashMap<WrapperPlayer, BuilderEntityRenderForwarder>();
-	private final List<AxisAlignedBB> mutableCollidingAABBs = new ArrayList<AxisAlignedBB>();
-	private final Set<BlockPos> knownAirBlocks = new HashSet<BlockPos>();
+	private final BlockCollisionCache.CollidingBoxes mutableCollidingBoxes = new BlockCollisionCache.CollidingBoxes();
+	private final double[] mutableBoxBounds = new double[6];
+	private final double[] mutableStepBounds = new double[6];
+	private final BlockHit blockHit = new BlockHit();
 	
 	protected final World world;
+	/**Cache of block collision shapes, to avoid looking up block states for every collision check.**/
+	private final BlockCollisionCache blockCollisionCache;
 	
 	
-	public final ConcurrentLinkedQueue<AEntityA_Base> allEntities = new ConcurrentLinkedQueue<AEntityA_Base>();
-	public final ConcurrentLinkedQueue<AEntityC_Renderable> renderableEntities = new ConcurrentLinkedQueue<AEntityC_Renderable>();
-	private final ConcurrentHashMap<Class<? extends AEntityA_Base>, ConcurrentLinkedQueue<? extends AEntityA_Base>> entitiesByClass = new ConcurrentHashMap<Class<? extends AEntityA_Base>, ConcurrentLinkedQueue<? extends AEntityA_Base>>();
+	public final IndexedList<AEntityA_Base> allEntities = new IndexedList<AEntityA_Base>();
+	public final IndexedList<AEntityC_Renderable> renderableEntities = new IndexedList<AEntityC_Renderable>();
+	/**Lists of entities, keyed by class.  Each list contains all entities that are instances of that class, including sub-classes.
+	 * Lists are created the first time a class is requested, so only classes that something cares about are tracked.**/
+	private final ConcurrentHashMap<Class<? extends AEntityA_Base>, IndexedList<? extends AEntityA_Base>> entitiesByClass = new ConcurrentHashMap<Class<? extends AEntityA_Base>, IndexedList<? extends AEntityA_Base>>();
 	private final ConcurrentHashMap<UUID, AEntityA_Base> trackedEntityMap = new ConcurrentHashMap<UUID, AEntityA_Base>();
+	/**Spatial index of all interactable entities, for finding entities near a location without checking every entity.**/
+	private final EntitySpatialHash entitySpatialHash = new EntitySpatialHash();
+	/**Broadphase of all vehicles, for finding the vehicles each vehicle could be in contact with.**/
+	private final EntitySweepAndPrune vehicleSweepAndPrune = new EntitySweepAndPrune();
+	/**Padding for vehicle boxes in {@link #vehicleSweepAndPrune}, on top of their movement.  This covers ground device
+	 * boxes, which are checked up to half a block below the vehicle.**/
+	private static final double VEHICLE_CONTACT_PADDING = 1.0D;
+	/**Box used to find vehicles near changed blocks.  Extends half a block past the block to cover ground device checks.**/
+	private final BoundingBox blockChangeBox = new BoundingBox(new Point3d(), new Point3d(), 1D, 1D, 1D, false);
 	
 	private final WrapperNBT savedData;
 	
@@ -122,6 +140,8 @@ public class WrapperWorld{
 
 	private WrapperWorld(World world){
 		this.world = world;
+		this.blockCollisionCache = new BlockCollisionCache(this, world);
+		world.addEventListener(blockCollisionCache);
 		if(world.isRemote){
 			//Send packet to server to request data for this world.
 			this.savedData = new WrapperNBT();
@@ -291,16 +311,14 @@ public class WrapperWorld{
 		double smallestDistance = searchRadius*2;
 		Entity foundEntity = null;
 		Entity mcLooker = entityLooking.entity;
-		Vec3d mcLookerPos = mcLooker.getPositionVector();
-		Point3d lookerLos = entityLooking.getLineOfSight(searchRadius).add(entityLooking.getPosition());
-		Vec3d losVector = new Vec3d(lookerLos.x, lookerLos.y, lookerLos.z);
+		Point3d losDelta = entityLooking.getLineOfSight(searchRadius).add(entityLooking.getPosition()).add(-mcLooker.posX, -mcLooker.posY, -mcLooker.posZ);
 		for(Entity entity : world.getEntitiesWithinAABBExcludingEntity(mcLooker, mcLooker.getEntityBoundingBox().grow(searchRadius))){
 			if(!entity.equals(mcLooker.getRidingEntity()) && !(entity instanceof BuilderEntityRenderForwarder)){
 				float distance = mcLooker.getDistance(entity);
 				if(distance < smallestDistance){
 					smallestDistance = distance;
-					RayTraceResult rayTrace = entity.getEntityBoundingBox().calculateIntercept(mcLookerPos, losVector);
-					if(rayTrace != null){
+					AxisAlignedBB box = entity.getEntityBoundingBox();
+					if(BlockCollisionCache.getRayIntersection(box.minX, box.minY, box.minZ, box.maxX, box.maxY, box.maxZ, mcLooker.posX, mcLooker.posY, mcLooker.posZ, losDelta.x, losDelta.y, losDelta.z) >= 0){
 						foundEntity = entity;
 					}
 				}
@@ -316,7 +334,7 @@ public class WrapperWorld{
 		BuilderEntityExisting builder = new BuilderEntityExisting(entity.world.world);
 		builder.loadedFromSavedNBT = true;
 		builder.setPositionAndRotation(entity.position.x, entity.position.y, entity.position.z, (float) -entity.angles.y, (float) entity.angles.x);
-		builder.entity = entity;
+		builder.setEntity(entity);
 		world.spawnEntity(builder);
 		addEntity(entity);
     }
@@ -490,15 +508,18 @@ public class WrapperWorld{
 	 *  no blocks along the path.
 	 */
 	public Point3d getBlockHit(Point3d position, Point3d delta){
-		Vec3d start = new Vec3d(position.x, position.y, position.z);
-		RayTraceResult trace = world.rayTraceBlocks(start, start.add(delta.x, delta.y, delta.z), false, true, false);
-		if(trace != null){
-			BlockPos pos = trace.getBlockPos();
-			if(pos != null){
-				 return new Point3d(pos.getX(), pos.getY(), pos.getZ());
-			}
-		}
-		return null;
+		return traceBlocks(position, delta, blockHit) ? blockHit.blockPosition.copy() : null;
+	}
+	
+	/**
+	 *  Traces a ray from the passed-in position along the passed-in delta, and returns true if it hits a block.
+	 *  If so, and the passed-in result isn't null, it is set to the first block hit.  The result may be re-used
+	 *  between calls to avoid creating objects.  If the result isn't needed, such as for line-of-sight checks,
+	 *  pass in null.  Blocks are checked in order along the ray using their cached collision shapes, and the
+	 *  trace stops at the first hit.  Liquids and blocks without collision are ignored.
+	 */
+	public boolean traceBlocks(Point3d position, Point3d delta, BlockHit result){
+		return blockCollisionCache.traceRay(position.x, position.y, position.z, delta.x, delta.y, delta.z, result);
 	}
 	
     /**
@@ -564,26 +585,17 @@ public class WrapperWorld{
 	 * collisionDepth be set for that axis.
 	 */
 	public void updateBoundingBoxCollisions(BoundingBox box, Point3d collisionMotion, boolean ignoreIfGreater){
-		AxisAlignedBB mcBox = box.convert();
+		box.getBounds(mutableBoxBounds, 0, 0, 0);
 		box.collidingBlockPositions.clear();
-		mutableCollidingAABBs.clear();
-		for(int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i){
-    		for(int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j){
-    			for(int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k){
-    				BlockPos pos = new BlockPos(i, j, k);
-    				if(world.isBlockLoaded(pos)){
-	    				IBlockState state = world.getBlockState(pos);
-	    				if(state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, pos) != null){
-	    					int oldCollidingBlockCount = mutableCollidingAABBs.size();
-	    					state.addCollisionBoxToList(world, pos, mcBox, mutableCollidingAABBs, null, false);
-	    					if(mutableCollidingAABBs.size() > oldCollidingBlockCount){
-	    						box.collidingBlockPositions.add(new Point3d(i, j, k));
-	    					}
-	    				}
-						if(box.collidesWithLiquids && state.getMaterial().isLiquid()){
-							mutableCollidingAABBs.add(state.getBoundingBox(world, pos).offset(pos));
-							box.collidingBlockPositions.add(new Point3d(i, j, k));
-						}
+		mutableCollidingBoxes.clear();
+		int maxX = (int) Math.ceil(mutableBoxBounds[3]);
+		int maxY = (int) Math.ceil(mutableBoxBounds[4]);
+		int maxZ = (int) Math.ceil(mutableBoxBounds[5]);
+		for(int i = (int) Math.floor(mutableBoxBounds[0]); i < maxX; ++i){
+    		for(int j = (int) Math.floor(mutableBoxBounds[1]); j < maxY; ++j){
+    			for(int k = (int) Math.floor(mutableBoxBounds[2]); k < maxZ; ++k){
+    				if(blockCollisionCache.addCollidingBoxes(i, j, k, mutableBoxBounds, mutableCollidingBoxes, box.collidesWithLiquids)){
+    					box.addCollidingBlockPosition(i, j, k);
     				}
     			}
     		}
@@ -593,36 +605,37 @@ public class WrapperWorld{
 		box.currentCollisionDepth.set(0D, 0D, 0D);
 		double boxCollisionDepth;
 		double minDelta = 0.0;
-		for(AxisAlignedBB colBox : mutableCollidingAABBs){
+		double[] colBounds = mutableCollidingBoxes.bounds;
+		for(int colIndex=0; colIndex<mutableCollidingBoxes.count*6; colIndex+=6){
 			if(collisionMotion.x > 0){
-				boxCollisionDepth = mcBox.maxX - colBox.minX;
+				boxCollisionDepth = mutableBoxBounds[3] - colBounds[colIndex];
 				if(!ignoreIfGreater || collisionMotion.x - boxCollisionDepth > -minDelta){
 					box.currentCollisionDepth.x = Math.max(box.currentCollisionDepth.x, boxCollisionDepth);
 				}
 			}else if(collisionMotion.x < 0){
-				boxCollisionDepth = colBox.maxX - mcBox.minX;
+				boxCollisionDepth = colBounds[colIndex + 3] - mutableBoxBounds[0];
 				if(!ignoreIfGreater || collisionMotion.x + boxCollisionDepth < minDelta){
 					box.currentCollisionDepth.x = Math.max(box.currentCollisionDepth.x, boxCollisionDepth);
 				}
 			}
 			if(collisionMotion.y > 0){
-				boxCollisionDepth = mcBox.maxY - colBox.minY;
+				boxCollisionDepth = mutableBoxBounds[4] - colBounds[colIndex + 1];
 				if(!ignoreIfGreater || collisionMotion.y - boxCollisionDepth > -minDelta){
 					box.currentCollisionDepth.y = Math.max(box.currentCollisionDepth.y, boxCollisionDepth);
 				}
 			}else if(collisionMotion.y < 0){
-				boxCollisionDepth = colBox.maxY - mcBox.minY;
+				boxCollisionDepth = colBounds[colIndex + 4] - mutableBoxBounds[1];
 				if(!ignoreIfGreater || collisionMotion.y + boxCollisionDepth < minDelta){
 					box.currentCollisionDepth.y = Math.max(box.currentCollisionDepth.y, boxCollisionDepth);
 				}
 			}
 			if(collisionMotion.z > 0){
-				boxCollisionDepth = mcBox.maxZ - colBox.minZ;
+				boxCollisionDepth = mutableBoxBounds[5] - colBounds[colIndex + 2];
 				if(!ignoreIfGreater || collisionMotion.z - boxCollisionDepth > -minDelta){
 					box.currentCollisionDepth.z = Math.max(box.currentCollisionDepth.z, boxCollisionDepth);
 				}
 			}else if(collisionMotion.z < 0){
-				boxCollisionDepth = colBox.maxZ - mcBox.minZ;
+				boxCollisionDepth = colBounds[colIndex + 5] - mutableBoxBounds[2];
 				if(!ignoreIfGreater || collisionMotion.z + boxCollisionDepth < minDelta){
 					box.currentCollisionDepth.z = Math.max(box.currentCollisionDepth.z, boxCollisionDepth);
 				}
@@ -634,35 +647,22 @@ public class WrapperWorld{
 	}
 	
 	/**
-	 * Checks all passed-in bounding boxes for collisions with other blocks.  Returns true if they collided,
-	 * false if they did not.  This is a bulk method designed to handle multiple checks in a row.  As such,
-	 * it stores a listing of known air blocks.  If a block has been checked before and is air, it is ignored.
-	 * To reset this list, pass in clearCache.  Note that this method, unlike the more granular one for
+	 * Checks the passed-in bounding box, offset by the passed-in offset, for collisions with blocks.
+	 * Returns true if it collided, false if it did not.  This is designed to handle multiple checks in a row,
+	 * and as such uses cached block collision shapes.  Note that this method, unlike the more granular one for
 	 * collision depth, does not support liquid collisions.
 	 */
-	public boolean checkForCollisions(BoundingBox box, Point3d offset, boolean clearCache){
-		if(clearCache){
-			knownAirBlocks.clear();
-		}
-		mutableCollidingAABBs.clear();
-		AxisAlignedBB mcBox = box.convertWithOffset(offset.x, offset.y, offset.z);
-		for(int i = (int) Math.floor(mcBox.minX); i < Math.ceil(mcBox.maxX); ++i){
-    		for(int j = (int) Math.floor(mcBox.minY); j < Math.ceil(mcBox.maxY); ++j){
-    			for(int k = (int) Math.floor(mcBox.minZ); k < Math.ceil(mcBox.maxZ); ++k){
-    				BlockPos pos = new BlockPos(i, j, k);
-    				if(!knownAirBlocks.contains(pos)){
-    					if(world.isBlockLoaded(pos)){
-    	    				IBlockState state = world.getBlockState(pos);
-    	    				if(state.getBlock().canCollideCheck(state, false) && state.getCollisionBoundingBox(world, pos) != null){
-    	    					int oldCollidingBlockCount = mutableCollidingAABBs.size();
-    	    					state.addCollisionBoxToList(world, pos, mcBox, mutableCollidingAABBs, null, false);
-    	    					if(mutableCollidingAABBs.size() > oldCollidingBlockCount){
-    	    						return true;
-    	    					}
-    	    				}else{
-    	    					knownAirBlocks.add(pos);
-    	    				}
-        				}
+	public boolean checkForCollisions(BoundingBox box, Point3d offset){
+		mutableCollidingBoxes.clear();
+		box.getBounds(mutableBoxBounds, offset.x, offset.y, offset.z);
+		int maxX = (int) Math.ceil(mutableBoxBounds[3]);
+		int maxY = (int) Math.ceil(mutableBoxBounds[4]);
+		int maxZ = (int) Math.ceil(mutableBoxBounds[5]);
+		for(int i = (int) Math.floor(mutableBoxBounds[0]); i < maxX; ++i){
+    		for(int j = (int) Math.floor(mutableBoxBounds[1]); j < maxY; ++j){
+    			for(int k = (int) Math.floor(mutableBoxBounds[2]); k < maxZ; ++k){
+    				if(blockCollisionCache.addCollidingBoxes(i, j, k, mutableBoxBounds, mutableCollidingBoxes, false)){
+    					return true;
     				}
     			}
     		}
@@ -670,6 +670,162 @@ public class WrapperWorld{
 		return false;
 	}
 	
+	/**
+	 * Returns the fraction of the passed-in motion that the passed-in box can move before it first hits a block,
+	 * from 0 at the start to 1 at the end, or -1 if it doesn't hit any block before the passed-in max fraction.
+	 * Rather than scanning the whole volume swept by the box, the motion is split into steps no longer than the box
+	 * is, and only the blocks around each step are scanned, so the blocks scanned grow with the distance moved rather
+	 * than with its cube.  Steps start at the beginning of the motion, and stop once they are past the earliest hit,
+	 * so blocks behind the first one hit aren't scanned.  The max fraction lets multiple boxes be checked in a row
+	 * without scanning past the earliest hit of the prior boxes.  Blocks that the box already overlaps are ignored, 
+	 * unless it still overlaps them at the end of the motion, in which case they are hit at 1.  Liquids are ignored.
+	 */
+	public double getSweptCollisionFraction(BoundingBox box, Point3d motion, double maxFraction){
+		box.getBounds(mutableBoxBounds, 0, 0, 0);
+		int steps = (int) Math.ceil(Math.max(Math.abs(motion.x)/Math.max(2*box.widthRadius, 1), Math.max(Math.abs(motion.y)/Math.max(2*box.heightRadius, 1), Math.abs(motion.z)/Math.max(2*box.depthRadius, 1))));
+		if(steps == 0){
+			steps = 1;
+		}
+		double stepX = motion.x/steps;
+		double stepY = motion.y/steps;
+		double stepZ = motion.z/steps;
+		double hitFraction = -1;
+		for(int step=0; step<steps; ++step){
+			double stepStartFraction = step/(double) steps;
+			if(stepStartFraction > (hitFraction >= 0 ? hitFraction : maxFraction)){
+				break;
+			}
+			
+			mutableCollidingBoxes.clear();
+			box.getBounds(mutableStepBounds, motion.x*stepStartFraction, motion.y*stepStartFraction, motion.z*stepStartFraction);
+			expandBounds(mutableStepBounds, stepX, stepY, stepZ);
+			int maxX = (int) Math.ceil(mutableStepBounds[3]);
+			int maxY = (int) Math.ceil(mutableStepBounds[4]);
+			int maxZ = (int) Math.ceil(mutableStepBounds[5]);
+			for(int i = (int) Math.floor(mutableStepBounds[0]); i < maxX; ++i){
+	    		for(int j = (int) Math.floor(mutableStepBounds[1]); j < maxY; ++j){
+	    			for(int k = (int) Math.floor(mutableStepBounds[2]); k < maxZ; ++k){
+	    				blockCollisionCache.addCollidingBoxes(i, j, k, mutableStepBounds, mutableCollidingBoxes, false);
+	    			}
+	    		}
+	    	}
+			
+			for(int colIndex=0; colIndex<mutableCollidingBoxes.count*6; colIndex+=6){
+				double fraction = getSweptCollisionFraction(mutableBoxBounds, mutableCollidingBoxes.bounds, colIndex, motion);
+				if(fraction >= 0 && fraction <= maxFraction && (hitFraction < 0 || fraction < hitFraction)){
+					hitFraction = fraction;
+				}
+			}
+		}
+		return hitFraction;
+	}
+	
+	/**
+	 * Returns the fraction of the passed-in motion that the passed-in box bounds first overlap the block box at,
+	 * or -1 if they never do.  The block box is the six bounds starting at the passed-in index of the block bounds.
+	 * Boxes that only touch don't overlap, same as {@link AxisAlignedBB#intersects(AxisAlignedBB)}.
+	 * If the box overlaps the block box at the start, 1 is returned if it still does at the end, and -1 if it moves out of it.
+	 */
+	private static double getSweptCollisionFraction(double[] box, double[] colBounds, int colIndex, Point3d motion){
+		double entryFraction = Double.NEGATIVE_INFINITY;
+		double exitFraction = Double.POSITIVE_INFINITY;
+		if(motion.x == 0){
+			if(box[3] <= colBounds[colIndex] || box[0] >= colBounds[colIndex + 3]){
+				return -1;
+			}
+		}else{
+			double minFraction = (colBounds[colIndex] - box[3])/motion.x;
+			double maxFraction = (colBounds[colIndex + 3] - box[0])/motion.x;
+			entryFraction = Math.max(entryFraction, Math.min(minFraction, maxFraction));
+			exitFraction = Math.min(exitFraction, Math.max(minFraction, maxFraction));
+		}
+		if(motion.y == 0){
+			if(box[4] <= colBounds[colIndex + 1] || box[1] >= colBounds[colIndex + 4]){
+				return -1;
+			}
+		}else{
+			double minFraction = (colBounds[colIndex + 1] - box[4])/motion.y;
+			double maxFraction = (colBounds[colIndex + 4] - box[1])/motion.y;
+			entryFraction = Math.max(entryFraction, Math.min(minFraction, maxFraction));
+			exitFraction = Math.min(exitFraction, Math.max(minFraction, maxFraction));
+		}
+		if(motion.z == 0){
+			if(box[5] <= colBounds[colIndex + 2] || box[2] >= colBounds[colIndex + 5]){
+				return -1;
+			}
+		}else{
+			double minFraction = (colBounds[colIndex + 2] - box[5])/motion.z;
+			double maxFraction = (colBounds[colIndex + 5] - box[2])/motion.z;
+			entryFraction = Math.max(entryFraction, Math.min(minFraction, maxFraction));
+			exitFraction = Math.min(exitFraction, Math.max(minFraction, maxFraction));
+		}
+		
+		if(entryFraction >= exitFraction || entryFraction >= 1 || exitFraction <= 0){
+			//Never overlaps during the motion.
+			return -1;
+		}else if(entryFraction < 0){
+			//Already overlapping.  Only a hit if we don't get out of it.
+			return exitFraction >= 1 ? 1 : -1;
+		}else{
+			return entryFraction;
+		}
+	}
+	
+	/**
+	 * Returns how far the passed-in box can move down before it hits a block, up to the passed-in max distance.
+	 * All blocks below the box are gathered in a single scan, so this is far cheaper than stepping the box down
+	 * and checking for collisions at each step.  Liquids are included if the box collides with them.  Blocks that
+	 * the box already overlaps are ignored.
+	 */
+	public double getDistanceToBlocksBelow(BoundingBox box, double maxDistance){
+		mutableCollidingBoxes.clear();
+		box.getBounds(mutableBoxBounds, 0, 0, 0);
+		box.getBounds(mutableStepBounds, 0, 0, 0);
+		expandBounds(mutableStepBounds, 0, -maxDistance, 0);
+		int maxX = (int) Math.ceil(mutableStepBounds[3]);
+		int maxY = (int) Math.ceil(mutableStepBounds[4]);
+		int maxZ = (int) Math.ceil(mutableStepBounds[5]);
+		for(int i = (int) Math.floor(mutableStepBounds[0]); i < maxX; ++i){
+    		for(int j = (int) Math.floor(mutableStepBounds[1]); j < maxY; ++j){
+    			for(int k = (int) Math.floor(mutableStepBounds[2]); k < maxZ; ++k){
+    				blockCollisionCache.addCollidingBoxes(i, j, k, mutableStepBounds, mutableCollidingBoxes, box.collidesWithLiquids);
+    			}
+    		}
+    	}
+		
+		//Same as AxisAlignedBB#calculateYOffset for downwards motion.
+		double clippedY = -maxDistance;
+		double[] colBounds = mutableCollidingBoxes.bounds;
+		for(int colIndex=0; colIndex<mutableCollidingBoxes.count*6; colIndex+=6){
+			if(mutableBoxBounds[3] > colBounds[colIndex] && mutableBoxBounds[0] < colBounds[colIndex + 3] && mutableBoxBounds[5] > colBounds[colIndex + 2] && mutableBoxBounds[2] < colBounds[colIndex + 5] && mutableBoxBounds[1] >= colBounds[colIndex + 4]){
+				clippedY = Math.max(clippedY, colBounds[colIndex + 4] - mutableBoxBounds[1]);
+			}
+		}
+		return -clippedY;
+	}
+	
+	/**
+	 * Expands the passed-in bounds by the passed-in amounts, the same as {@link AxisAlignedBB#expand(double, double, double)}.
+	 * Negative amounts expand the min bounds, and positive amounts expand the max bounds.
+	 */
+	private static void expandBounds(double[] bounds, double x, double y, double z){
+		if(x < 0){
+			bounds[0] += x;
+		}else{
+			bounds[3] += x;
+		}
+		if(y < 0){
+			bounds[1] += y;
+		}else{
+			bounds[4] += y;
+		}
+		if(z < 0){
+			bounds[2] += z;
+		}else{
+			bounds[5] += z;
+		}
+	}
+	
 	/**
 	 *  Returns the current redstone power at the passed-in position.
 	 */
@@ -1112,6 +1268,18 @@ public class WrapperWorld{
 	    		entity.remove();
 	    	}
 	    	worldWrappers.remove(this);
+	    	world.removeEventListener(blockCollisionCache);
+	   	}
+   }
+   
+   /**
+    * Remove unloaded chunks from the collision cache.  They may change before they are loaded again.
+    */
+   @SubscribeEvent
+   public void on(ChunkEvent.Unload event){
+	   	if(event.getWorld().equals(world)){
+	   		Chunk chunk = event.getChunk();
+	   		blockCollisionCache.removeChunk(chunk.x, chunk.z);
 	   	}
    }
    
@@ -1127,19 +1295,19 @@ public class WrapperWorld{
     * constructor itself unless the class is final, as it is possible that extending
     * constructors won't complete before the entity is accessed from this list.
     */
+   @SuppressWarnings("unchecked")
    public <EntityType extends AEntityA_Base> void addEntity(EntityType entity){
-	   allEntities.add(entity);
-	   if(entity instanceof AEntityC_Renderable){
-		   renderableEntities.add((AEntityC_Renderable) entity);
-	   }
-	   
-	   @SuppressWarnings("unchecked")
-	   ConcurrentLinkedQueue<EntityType> classList = (ConcurrentLinkedQueue<EntityType>) entitiesByClass.get(entity.getClass());
-	   if(classList == null){
-		   classList = new ConcurrentLinkedQueue<EntityType>();
-		   entitiesByClass.put(entity.getClass(), classList);
+	   synchronized(entitiesByClass){
+		   allEntities.add(entity);
+		   if(entity instanceof AEntityC_Renderable){
+			   renderableEntities.add((AEntityC_Renderable) entity);
+		   }
+		   for(Entry<Class<? extends AEntityA_Base>, IndexedList<? extends AEntityA_Base>> classEntry : entitiesByClass.entrySet()){
+			   if(classEntry.getKey().isInstance(entity)){
+				   ((IndexedList<AEntityA_Base>) classEntry.getValue()).add(entity);
+			   }
+		   }
 	   }
-	   classList.add(entity);
 	   if(entity.shouldSync()){
 		   trackedEntityMap.put(entity.uniqueUUID, entity);
 	   }
@@ -1154,29 +1322,98 @@ public class WrapperWorld{
    }
    
    /**
-    * Gets the list of all entities of the specified class.
+    * Gets the list of all entities of the specified class, including sub-classes.
+    * The returned list is live, and may be iterated while entities are added or removed.
     */
    @SuppressWarnings("unchecked")
-   public <EntityType extends AEntityA_Base> ConcurrentLinkedQueue<EntityType> getEntitiesOfType(Class<EntityType> entityClass){
-	   ConcurrentLinkedQueue<EntityType> classListing = (ConcurrentLinkedQueue<EntityType>) entitiesByClass.get(entityClass);
+   public <EntityType extends AEntityA_Base> IndexedList<EntityType> getEntitiesOfType(Class<EntityType> entityClass){
+	   IndexedList<EntityType> classListing = (IndexedList<EntityType>) entitiesByClass.get(entityClass);
 	   if(classListing == null){
-		   classListing = new ConcurrentLinkedQueue<EntityType>();
-		   entitiesByClass.put(entityClass, classListing);
+		   synchronized(entitiesByClass){
+			   classListing = (IndexedList<EntityType>) entitiesByClass.get(entityClass);
+			   if(classListing == null){
+				   //First request for this class, add all existing entities that match it.
+				   classListing = new IndexedList<EntityType>();
+				   for(AEntityA_Base entity : allEntities){
+					   if(entityClass.isInstance(entity)){
+						   classListing.add((EntityType) entity);
+					   }
+				   }
+				   entitiesByClass.put(entityClass, classListing);
+			   }
+		   }
 	   }
 	   return classListing;
    }
    
+   /**
+    * Gets all entities of the specified class, including sub-classes, whose encompassing box intersects the passed-in box.
+    * Only entities that have had their location updated via {@link #updateEntityLocation(AEntityE_Interactable)} are returned.
+    */
+   public <EntityType extends AEntityE_Interactable<?>> List<EntityType> getEntitiesOfTypeWithin(Class<EntityType> entityClass, BoundingBox box){
+	   return entitySpatialHash.getEntitiesWithin(entityClass, box);
+   }
+   
+   /**
+    * Like {@link #getEntitiesOfTypeWithin(Class, BoundingBox)}, but returns entities whose position is within the radius of the point.
+    */
+   public <EntityType extends AEntityE_Interactable<?>> List<EntityType> getEntitiesOfTypeWithin(Class<EntityType> entityClass, Point3d point, double radius){
+	   return entitySpatialHash.getEntitiesWithin(entityClass, point, radius);
+   }
+   
+   /**
+    * Gets all vehicles that could be in contact with the passed-in vehicle.  These are the vehicles whose
+    * encompassing boxes, padded by their movement, overlap the padded encompassing box of the passed-in vehicle.
+    * Only vehicles that have had their location updated via {@link #updateEntityLocation(AEntityE_Interactable)} are returned.
+    */
+   public List<EntityVehicleF_Physics> getVehicleContactCandidates(EntityVehicleF_Physics vehicle){
+	   return vehicleSweepAndPrune.getOverlappingEntities(EntityVehicleF_Physics.class, vehicle);
+   }
+   
+   /**
+    * Wakes up any sleeping vehicles near the block at the passed-in position.
+    * Called when the block changes, as vehicles may have been resting on it.
+    */
+   void wakeVehiclesNear(int x, int y, int z){
+	   blockChangeBox.globalCenter.set(x + 0.5D, y + 0.5D, z + 0.5D);
+	   for(EntityVehicleF_Physics vehicle : entitySpatialHash.getEntitiesWithin(EntityVehicleF_Physics.class, blockChangeBox)){
+		   vehicle.wakeUp();
+	   }
+   }
+   
+   /**
+    * Updates the location of the entity for {@link #getEntitiesOfTypeWithin(Class, BoundingBox)} and
+    * {@link #getVehicleContactCandidates(EntityVehicleF_Physics)} queries.
+    * This should be called every time the entity's encompassing box is updated.
+    */
+   public void updateEntityLocation(AEntityE_Interactable<?> entity){
+	   if(entity.isValid){
+		   entitySpatialHash.update(entity);
+		   if(entity instanceof EntityVehicleF_Physics){
+			   vehicleSweepAndPrune.update(entity, entity.motion.length()*EntityVehicleF_Physics.SPEED_FACTOR + VEHICLE_CONTACT_PADDING);
+		   }
+	   }
+   }
+   
    /**
     * Removes this entity from the world.  Taking it off the update/functional lists.
     */
    public void removeEntity(AEntityA_Base entity){
-	   allEntities.remove(entity);
-	   if(entity instanceof AEntityC_Renderable){
-		   renderableEntities.remove(entity);
+	   synchronized(entitiesByClass){
+		   allEntities.remove(entity);
+		   if(entity instanceof AEntityC_Renderable){
+			   renderableEntities.remove(entity);
+		   }
+		   for(IndexedList<? extends AEntityA_Base> classListing : entitiesByClass.values()){
+			   classListing.remove(entity);
+		   }
+	   }
+	   if(entity instanceof AEntityE_Interactable){
+		   entitySpatialHash.remove((AEntityE_Interactable<?>) entity);
+		   vehicleSweepAndPrune.remove((AEntityE_Interactable<?>) entity);
 	   }
-	   entitiesByClass.get(entity.getClass()).remove(entity);
 	   if(entity.shouldSync()){
 		   trackedEntityMap.remove(entity.uniqueUUID);
 	   }
    }
-}
\ No newline at end of file
+}
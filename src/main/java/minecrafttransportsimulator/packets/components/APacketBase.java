@@ -5,6 +5,7 @@ import java.util.UUID;
 
 import io.netty.buffer.ByteBuf;
 import minecrafttransportsimulator.baseclasses.Point3d;
+import minecrafttransportsimulator.entities.components.AEntityA_Base;
 import minecrafttransportsimulator.mcinterface.InterfacePacket;
 import minecrafttransportsimulator.mcinterface.WrapperNBT;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
@@ -96,6 +97,15 @@ public abstract class APacketBase{
 	 */
 	public abstract void handle(WrapperWorld world);
 	
+	/**
+	 *  Returns the entity this packet is for, or null if it isn't for an entity.
+	 *  Used by {@link InterfacePacket#sendToAllClients(APacketBase)} to only send
+	 *  this packet to clients that are close enough to the entity to be tracking it.
+	 */
+	public AEntityA_Base getEntity(){
+		return null;
+	}
+	
 	/**
 	 *  Helper method to write a string to the buffer.
 	 */
@@ -120,6 +130,28 @@ public abstract class APacketBase{
 		return returnString;
 	}
 	
+	/**
+	 *  Helper method to write a string that is sent often to the buffer.  Instead of the
+	 *  string, this writes its ID from {@link InterfacePacket#getStringID(String)}.  Only use
+	 *  this for strings from a limited set, such as variable names, as IDs are never removed.
+	 *  If the string can't be given an ID, it is written in full after an ID of -1.
+	 */
+	protected static void writeStringIDToBuffer(String string, ByteBuf buf){
+		int stringID = InterfacePacket.getStringID(string);
+		writeVarLongToBuffer(stringID, buf);
+		if(stringID == -1){
+			writeStringToBuffer(string, buf);
+		}
+	}
+	
+	/**
+	 *  Helper method to read a string written by {@link #writeStringIDToBuffer(String, ByteBuf)} from the buffer.
+	 */
+	protected static String readStringIDFromBuffer(ByteBuf buf){
+		long stringID = readVarLongFromBuffer(buf);
+		return stringID == -1 ? readStringFromBuffer(buf) : InterfacePacket.getString(stringID);
+	}
+	
 	/**
 	 *  Helper method to write a UUID to the buffer.
 	 */
@@ -169,6 +201,36 @@ public abstract class APacketBase{
 		return new Point3d(buf.readInt(), buf.readInt(), buf.readInt());
 	}
 	
+	/**
+	 *  Helper method to write a long to the buffer.  Does so in a variable-length
+	 *  format, where values closer to 0, positive or negative, take fewer bytes.
+	 *  Values between -64 and 63 take one byte, and each extra 7 bits takes one more.
+	 */
+	protected static void writeVarLongToBuffer(long value, ByteBuf buf){
+		//Move the sign to the lowest bit so small negative numbers don't have all their high bits set.
+		long zigZag = (value << 1) ^ (value >> 63);
+		while((zigZag & ~0x7FL) != 0){
+			buf.writeByte((int) (zigZag & 0x7F) | 0x80);
+			zigZag >>>= 7;
+		}
+		buf.writeByte((int) zigZag);
+	}
+	
+	/**
+	 *  Helper method to read a variable-length long from the buffer.
+	 */
+	protected static long readVarLongFromBuffer(ByteBuf buf){
+		long zigZag = 0;
+		int shift = 0;
+		byte currentByte;
+		do{
+			currentByte = buf.readByte();
+			zigZag |= (long) (currentByte & 0x7F) << shift;
+			shift += 7;
+		}while((currentByte & 0x80) != 0);
+		return (zigZag >>> 1) ^ -(zigZag & 1);
+	}
+	
 	/**
 	 *  Forwarder to interface method for cleaner packet code.
 	 */
@@ -191,71 +253,72 @@ public abstract class APacketBase{
 	public static void initPackets(byte packetIndex){
 		//Register all classes in the minecrafttransportsimulator.packets.instances package.
 		//Ideally this could be done via reflection, but it doesn't work too well so we don't do that.
+		//Each class is registered with its buffer constructor, so creating packets doesn't need reflection either.
 		
 		//Entity packets.
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityColorChange.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityInstrumentChange.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityRiderChange.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityTextChange.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityTrailerChange.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityVariableIncrement.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityVariableSet.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityVariableToggle.class);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityColorChange.class, PacketEntityColorChange::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityInstrumentChange.class, PacketEntityInstrumentChange::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityRiderChange.class, PacketEntityRiderChange::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityTextChange.class, PacketEntityTextChange::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityTrailerChange.class, PacketEntityTrailerChange::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityVariableIncrement.class, PacketEntityVariableIncrement::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityVariableSet.class, PacketEntityVariableSet::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityVariableToggle.class, PacketEntityVariableToggle::new);
 		
 		//Bullet packets.
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityBulletHit.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityBulletHitBlock.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityBulletHitEntity.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityBulletHitWrapper.class);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityBulletHit.class, PacketEntityBulletHit::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityBulletHitBlock.class, PacketEntityBulletHitBlock::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityBulletHitEntity.class, PacketEntityBulletHitEntity::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityBulletHitWrapper.class, PacketEntityBulletHitWrapper::new);
 		
 		//Fluid tank packets.
-		InterfacePacket.registerPacket(packetIndex++, PacketFluidTankChange.class);
+		InterfacePacket.registerPacket(packetIndex++, PacketFluidTankChange.class, PacketFluidTankChange::new);
 		
 		//Inventory container packets.
-		InterfacePacket.registerPacket(packetIndex++, PacketInventoryContainerChange.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketItemInteractable.class);
+		InterfacePacket.registerPacket(packetIndex++, PacketInventoryContainerChange.class, PacketInventoryContainerChange::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketItemInteractable.class, PacketItemInteractable::new);
 		
 		//Furnace packets.
-		InterfacePacket.registerPacket(packetIndex++, PacketFurnaceFuelAdd.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketFurnaceTimeSet.class);
+		InterfacePacket.registerPacket(packetIndex++, PacketFurnaceFuelAdd.class, PacketFurnaceFuelAdd::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketFurnaceTimeSet.class, PacketFurnaceTimeSet::new);
 		
 		//GUI packets.
-		InterfacePacket.registerPacket(packetIndex++, PacketGUIRequest.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketEntityGUIRequest.class);
+		InterfacePacket.registerPacket(packetIndex++, PacketGUIRequest.class, PacketGUIRequest::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketEntityGUIRequest.class, PacketEntityGUIRequest::new);
 		
 		//Part packets.
-		InterfacePacket.registerPacket(packetIndex++, PacketPartChange.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketPartGun.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketPartEffector.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketPartEngine.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketPartGroundDevice.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketPartInteractable.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketPartSeat.class);
+		InterfacePacket.registerPacket(packetIndex++, PacketPartChange.class, PacketPartChange::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketPartGun.class, PacketPartGun::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketPartEffector.class, PacketPartEffector::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketPartEngine.class, PacketPartEngine::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketPartGroundDevice.class, PacketPartGroundDevice::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketPartInteractable.class, PacketPartInteractable::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketPartSeat.class, PacketPartSeat::new);
 		
 		//Player packets.
-		InterfacePacket.registerPacket(packetIndex++, PacketPlayerChatMessage.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketPlayerCraftItem.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketPlayerItemTransfer.class);
+		InterfacePacket.registerPacket(packetIndex++, PacketPlayerChatMessage.class, PacketPlayerChatMessage::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketPlayerCraftItem.class, PacketPlayerCraftItem::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketPlayerItemTransfer.class, PacketPlayerItemTransfer::new);
 		
 		//Radio packets.
-		InterfacePacket.registerPacket(packetIndex++, PacketRadioStateChange.class);
+		InterfacePacket.registerPacket(packetIndex++, PacketRadioStateChange.class, PacketRadioStateChange::new);
 		
 		//Tile entity packets.
-		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityLoaderConnection.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityFuelPumpConnection.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityFuelPumpDispense.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityRoadCollisionUpdate.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityPoleChange.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityRoadChange.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityRoadConnectionUpdate.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketTileEntitySignalControllerChange.class);
+		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityLoaderConnection.class, PacketTileEntityLoaderConnection::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityFuelPumpConnection.class, PacketTileEntityFuelPumpConnection::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityFuelPumpDispense.class, PacketTileEntityFuelPumpDispense::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityRoadCollisionUpdate.class, PacketTileEntityRoadCollisionUpdate::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityPoleChange.class, PacketTileEntityPoleChange::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityRoadChange.class, PacketTileEntityRoadChange::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketTileEntityRoadConnectionUpdate.class, PacketTileEntityRoadConnectionUpdate::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketTileEntitySignalControllerChange.class, PacketTileEntitySignalControllerChange::new);
 		
 		//Vehicle packets.
-		InterfacePacket.registerPacket(packetIndex++, PacketVehicleBeaconChange.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketVehicleInteract.class);
-		InterfacePacket.registerPacket(packetIndex++, PacketVehicleServerMovement.class);
+		InterfacePacket.registerPacket(packetIndex++, PacketVehicleBeaconChange.class, PacketVehicleBeaconChange::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketVehicleInteract.class, PacketVehicleInteract::new);
+		InterfacePacket.registerPacket(packetIndex++, PacketVehicleServerMovement.class, PacketVehicleServerMovement::new);
 		
 		//World packets.
-		InterfacePacket.registerPacket(packetIndex++, PacketWorldSavedDataCSHandshake.class);
+		InterfacePacket.registerPacket(packetIndex++, PacketWorldSavedDataCSHandshake.class, PacketWorldSavedDataCSHandshake::new);
 	}
 }
@@ -5,6 +5,8 @@ import java.util.UUID;
 import io.netty.buffer.ByteBuf;
 import minecrafttransportsimulator.blocks.tileentities.components.ATileEntityBase;
 import minecrafttransportsimulator.entities.components.AEntityA_Base;
+import minecrafttransportsimulator.entities.instances.APart;
+import minecrafttransportsimulator.entities.instances.EntityVehicleF_Physics;
 import minecrafttransportsimulator.mcinterface.InterfacePacket;
 import minecrafttransportsimulator.mcinterface.WrapperWorld;
 
@@ -15,10 +17,13 @@ import minecrafttransportsimulator.mcinterface.WrapperWorld;
  */
 public abstract class APacketEntity<EntityType extends AEntityA_Base> extends APacketBase{
 	private final UUID uniqueUUID;
+	/**Entity this packet is for.  Only set on the side that created the packet, or once it has been handled.**/
+	private AEntityA_Base entity;
 	
 	public APacketEntity(AEntityA_Base entity){
 		super(null);
 		this.uniqueUUID = entity.uniqueUUID;
+		this.entity = entity;
 	}
 	
 	public APacketEntity(ByteBuf buf){
@@ -35,7 +40,14 @@ public abstract class APacketEntity<EntityType extends AEntityA_Base> extends AP
 	@Override
 	public void handle(WrapperWorld world){
 		EntityType entity = world.getEntity(uniqueUUID);
+		//Wake up any vehicle this packet is for, as the packet may change something that makes it move.
+		if(entity instanceof EntityVehicleF_Physics){
+			((EntityVehicleF_Physics) entity).wakeUp();
+		}else if(entity instanceof APart && ((APart) entity).vehicleOn != null){
+			((APart) entity).vehicleOn.wakeUp();
+		}
 		if(entity != null && handle(world, entity) && !world.isClient()){
+			this.entity = entity;
 			InterfacePacket.sendToAllClients(this);
 			if(entity instanceof ATileEntityBase){
 				//Need to set TEs as updated, as they don't normally do this.
@@ -44,6 +56,11 @@ public abstract class APacketEntity<EntityType extends AEntityA_Base> extends AP
 		}
 	}
 	
+	@Override
+	public AEntityA_Base getEntity(){
+		return entity;
+	}
+	
 	/**
 	 *  Helper method for handling clamped values.  Mainly comes from
 	 *  control packets where we could go outside our desired bounds if we
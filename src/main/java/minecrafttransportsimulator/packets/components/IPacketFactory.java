@@ -0,0 +1,18 @@
+package minecrafttransportsimulator.packets.components;
+
+import io.netty.buffer.ByteBuf;
+
+/**Interface for creating packets from a buffer.  Each packet class is registered with
+ * one of these, normally a reference to its buffer constructor, so packets can be created
+ * when they arrive without having to look up their constructor via reflection.
+ * 
+ * @author don_bruce
+ */
+@FunctionalInterface
+public interface IPacketFactory<PacketType extends APacketBase>{
+	
+	/**
+	 *  Creates a packet from the passed-in buffer.
+	 */
+	public PacketType createPacket(ByteBuf buf);
+}
@@ -32,7 +32,7 @@ public class PacketEntityVariableIncrement extends APacketEntity<AEntityD_Defina
 	
 	public PacketEntityVariableIncrement(ByteBuf buf){
 		super(buf);
-		this.variableName = readStringFromBuffer(buf);
+		this.variableName = readStringIDFromBuffer(buf);
 		this.incrementValue = buf.readDouble();
 		this.minValue = buf.readDouble();
 		this.maxValue = buf.readDouble();
@@ -41,7 +41,7 @@ public class PacketEntityVariableIncrement extends APacketEntity<AEntityD_Defina
 	@Override
 	public void writeToBuffer(ByteBuf buf){
 		super.writeToBuffer(buf);
-		writeStringToBuffer(variableName, buf);
+		writeStringIDToBuffer(variableName, buf);
 		buf.writeDouble(incrementValue);
 		buf.writeDouble(minValue);
 		buf.writeDouble(maxValue);
@@ -57,7 +57,7 @@ public class PacketEntityVariableIncrement extends APacketEntity<AEntityD_Defina
 			newValue = maxValue;
 		}
 		if(newValue != currentValue){
-			entity.setVariable(variableName, newValue);
+			entity.setVariableWithoutRegistering(variableName, newValue);
 			return true;
 		}else{
 			return false;
@@ -27,20 +27,20 @@ public class PacketEntityVariableSet extends APacketEntity<AEntityD_Definable<?>
 	
 	public PacketEntityVariableSet(ByteBuf buf){
 		super(buf);
-		this.variableName = readStringFromBuffer(buf);
+		this.variableName = readStringIDFromBuffer(buf);
 		this.variableValue = buf.readDouble();
 	}
 	
 	@Override
 	public void writeToBuffer(ByteBuf buf){
 		super.writeToBuffer(buf);
-		writeStringToBuffer(variableName, buf);
+		writeStringIDToBuffer(variableName, buf);
 		buf.writeDouble(variableValue);
 	}
 	
 	@Override
 	public boolean handle(WrapperWorld world, AEntityD_Definable<?> entity){
-		entity.setVariable(variableName, variableValue);
+		entity.setVariableWithoutRegistering(variableName, variableValue);
 		return true;
 	}
 }
@@ -21,18 +21,18 @@ public class PacketEntityVariableToggle extends APacketEntity<AEntityD_Definable
 	
 	public PacketEntityVariableToggle(ByteBuf buf){
 		super(buf);
-		this.variableName = readStringFromBuffer(buf);
+		this.variableName = readStringIDFromBuffer(buf);
 	}
 	
 	@Override
 	public void writeToBuffer(ByteBuf buf){
 		super.writeToBuffer(buf);
-		writeStringToBuffer(variableName, buf);
+		writeStringIDToBuffer(variableName, buf);
 	}
 	
 	@Override
 	public boolean handle(WrapperWorld world, AEntityD_Definable<?> entity){
-		entity.toggleVariable(variableName);
+		entity.toggleVariableWithoutRegistering(variableName);
 		return true;
 	}
 }
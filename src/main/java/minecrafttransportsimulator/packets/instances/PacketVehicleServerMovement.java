@@ -14,39 +14,82 @@ import minecrafttransportsimulator.packets.components.APacketEntity;
  * the position and rotation.  This system of syncing has the side-effect of significant
  * rubberbanding when server TPS suffers or networking goes bad, but it's far better than
  * the alternatives when the connection is good, hence why we use it.
- * 
+ * <br><br>
+ * To save bandwidth, the deltas are quantized to steps of 1/{@link #PRECISION} blocks or degrees.
+ * Clients correct by the square of their error divided by 25 each tick, so an error of one step
+ * results in a correction far too small to be seen.  Normal packets only contain the values that
+ * changed since the last packet, while keyframes contain the full deltas to re-sync clients.
+ *
  * @author don_bruce
  */
 public class PacketVehicleServerMovement extends APacketEntity<EntityVehicleF_Physics>{
-	private final Point3d motion;
-	private final Point3d rotation;
-	private final double pathing;
-	
-	public PacketVehicleServerMovement(EntityVehicleF_Physics vehicle, Point3d motion, Point3d rotation, double pathing){
+	/**Number of steps per block or degree deltas are sent in.  A power of 2, so adding up the steps on clients is exact.**/
+	public static final double PRECISION = 1024D;
+	/**Number of values sent.  These are motion x, y, and z, rotation x, y, and z, and pathing, in that order.**/
+	public static final int VALUE_COUNT = 7;
+	/**Header bit set if this packet is a keyframe.  The lower bits are set for each value in this packet.**/
+	private static final int KEYFRAME_BIT = 0x80;
+	private final long[] values = new long[VALUE_COUNT];
+	private final boolean keyframe;
+
+	/**
+	 *  Creates a packet for the passed-in quantized deltas.  If the last sent deltas are passed-in, only
+	 *  the changes from them are sent.  If they are null, this packet is a keyframe with the full deltas.
+	 */
+	public PacketVehicleServerMovement(EntityVehicleF_Physics vehicle, long[] deltas, long[] sentDeltas){
 		super(vehicle);
-		this.motion = motion;
-		this.rotation = rotation;
-		this.pathing = pathing;
+		for(int i=0; i<VALUE_COUNT; ++i){
+			values[i] = sentDeltas != null ? deltas[i] - sentDeltas[i] : deltas[i];
+		}
+		this.keyframe = sentDeltas == null;
 	}
-	
+
 	public PacketVehicleServerMovement(ByteBuf buf){
 		super(buf);
-		this.motion = readPoint3dFromBuffer(buf);
-		this.rotation = readPoint3dFromBuffer(buf);
-		this.pathing = buf.readDouble();
+		int header = buf.readUnsignedByte();
+		for(int i=0; i<VALUE_COUNT; ++i){
+			if((header & (1 << i)) != 0){
+				values[i] = readVarLongFromBuffer(buf);
+			}
+		}
+		this.keyframe = (header & KEYFRAME_BIT) != 0;
 	}
-	
+
 	@Override
 	public void writeToBuffer(ByteBuf buf){
 		super.writeToBuffer(buf);
-		writePoint3dToBuffer(motion, buf);
-		writePoint3dToBuffer(rotation, buf);
-		buf.writeDouble(pathing);
+		//Values of 0 are left out, as they either haven't changed, or are 0 in a keyframe.
+		int header = keyframe ? KEYFRAME_BIT : 0;
+		for(int i=0; i<VALUE_COUNT; ++i){
+			if(values[i] != 0){
+				header |= 1 << i;
+			}
+		}
+		buf.writeByte(header);
+		for(int i=0; i<VALUE_COUNT; ++i){
+			if(values[i] != 0){
+				writeVarLongToBuffer(values[i], buf);
+			}
+		}
 	}
-	
+
 	@Override
 	public boolean handle(WrapperWorld world, EntityVehicleF_Physics vehicle){
-		vehicle.addToServerDeltas(motion, rotation, pathing);
+		Point3d motion = new Point3d(values[0]/PRECISION, values[1]/PRECISION, values[2]/PRECISION);
+		Point3d rotation = new Point3d(values[3]/PRECISION, values[4]/PRECISION, values[5]/PRECISION);
+		double pathing = values[6]/PRECISION;
+		if(keyframe){
+			vehicle.setServerDeltas(motion, rotation, pathing);
+		}else{
+			vehicle.addToServerDeltas(motion, rotation, pathing);
+		}
 		return false;
 	}
+
+	/**
+	 *  Returns the passed-in delta in the steps it is sent in.
+	 */
+	public static long quantize(double delta){
+		return Math.round(delta*PRECISION);
+	}
 }
@@ -29,6 +29,7 @@ import minecrafttransportsimulator.baseclasses.ColorRGB;
 import minecrafttransportsimulator.baseclasses.Point3d;
 import minecrafttransportsimulator.entities.components.AEntityA_Base;
 import minecrafttransportsimulator.entities.components.AEntityD_Definable;
+import minecrafttransportsimulator.entities.components.VariableRegistry;
 import minecrafttransportsimulator.jsondefs.AJSONInteractableEntity;
 import minecrafttransportsimulator.jsondefs.AJSONItem;
 import minecrafttransportsimulator.jsondefs.AJSONMultiModelProvider;
@@ -564,6 +565,7 @@ public class JSONParser{
 			}
 			
 			//Do generic loading.
+			VariableRegistry.registerVariables(loadedDefinition);
 			definitionToOverride.general = loadedDefinition.general;
 			if(definitionToOverride instanceof AJSONMultiModelProvider){
 				((AJSONMultiModelProvider) definitionToOverride).definitions = ((AJSONMultiModelProvider) loadedDefinition).definitions;
@@ -0,0 +1,92 @@
+package minecrafttransportsimulator.rendering.components;
+
+import minecrafttransportsimulator.entities.components.AEntityD_Definable;
+import minecrafttransportsimulator.entities.components.VariableRegistry;
+import minecrafttransportsimulator.jsondefs.JSONAnimationDefinition;
+
+/**Pre-parsed form of a {@link JSONAnimationDefinition}.  This is created once per definition when
+ * the pack is loaded, and contains all the information from the definition's variable string,
+ * clamps, and offsets that would otherwise need to be parsed out every time the animation is evaluated.
+ * This allows evaluation to be a few arithmetic operations plus the raw variable lookup.
+ *
+ * @author don_bruce
+ */
+public class AnimationExpression{
+	/**The variable for this expression, without any inversion prefix.**/
+	public final String variable;
+	/**The {@link VariableRegistry} handle for {@link #variable}.**/
+	public final int variableHandle;
+	/**True if the variable is prefixed with a !, and the value should be inverted.**/
+	public final boolean inverted;
+
+	/**True if this is a _cycle variable.  If so, the cycle times are valid, and the value can be calculated without the entity.**/
+	public final boolean isCycle;
+	public final int cycleOffTicks;
+	public final int cycleOnTicks;
+	public final int cycleTotalTicks;
+
+	private final boolean absolute;
+	private final boolean clampTotal;
+	private final boolean hasClampMin;
+	private final boolean hasClampMax;
+	private final double offset;
+	private final double clampMin;
+	private final double clampMax;
+
+	public AnimationExpression(JSONAnimationDefinition animation){
+		this.inverted = animation.variable.startsWith("!");
+		this.variable = inverted ? animation.variable.substring(1) : animation.variable;
+		this.variableHandle = VariableRegistry.getHandle(variable);
+
+		int[] cycleTimes = VariableRegistry.getCycleTimes(variableHandle);
+		this.isCycle = cycleTimes != null && cycleTimes[2] != 0;
+		this.cycleOffTicks = isCycle ? cycleTimes[0] : 0;
+		this.cycleOnTicks = isCycle ? cycleTimes[1] : 0;
+		this.cycleTotalTicks = isCycle ? cycleTimes[2] : 0;
+
+		this.absolute = animation.absolute;
+		this.clampTotal = animation.axis != null;
+		this.hasClampMin = animation.clampMin != 0;
+		this.hasClampMax = animation.clampMax != 0;
+		this.offset = animation.offset;
+		this.clampMin = animation.clampMin;
+		this.clampMax = animation.clampMax;
+	}
+
+	/**
+	 *  Returns the value of the variable for this expression on the passed-in entity, with inversion applied.
+	 *  Un-set variables return 0, or 1 if inverted.
+	 */
+	public double getVariableValue(AEntityD_Definable<?> entity, float partialTicks){
+		double value;
+		if(isCycle){
+			long timeInCycle = entity.ticksExisted%cycleTotalTicks;
+			value = timeInCycle > cycleOffTicks && timeInCycle - cycleOffTicks < cycleOnTicks ? 1 : 0;
+		}else{
+			value = entity.getCachedVariableValue(variable, variableHandle, partialTicks);
+		}
+		if(inverted){
+			return (value == 0 || Double.isNaN(value)) ? 1 : 0;
+		}else{
+			return Double.isNaN(value) ? 0 : value;
+		}
+	}
+
+	/**
+	 *  Clamps and scales the passed-in value based on the definition this expression was created from.
+	 *  Note that the definition offset is applied after the scaling, and the passed-in offset and the
+	 *  clamps are only applied for animations that have an axis.
+	 */
+	public double clampAndScale(double value, double scaleFactor, double offset){
+		value = (absolute ? Math.abs(value) : value)*scaleFactor + this.offset;
+		if(clampTotal){
+			value += offset;
+			if(hasClampMin && value < clampMin){
+				value = clampMin;
+			}else if(hasClampMax && value > clampMax){
+				value = clampMax;
+			}
+		}
+		return value;
+	}
+}
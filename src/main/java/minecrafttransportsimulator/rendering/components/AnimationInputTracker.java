@@ -0,0 +1,51 @@
+package minecrafttransportsimulator.rendering.components;
+
+import java.util.List;
+
+import minecrafttransportsimulator.entities.components.AEntityD_Definable;
+import minecrafttransportsimulator.systems.ConfigSystem;
+
+/**Tracks the inputs to a set of {@link DurationDelayClock}s that are evaluated together, such as
+ * the brightness animations for a light or the volume animations for a sound.  Callers check
+ * {@link #needsUpdate(AEntityD_Definable, float)} before evaluating the clocks, and if it returns
+ * false they can re-use their last result, as none of the variables the clocks read have changed
+ * and none of the clocks are still moving.  This lets static entities skip their effect calculations.
+ *
+ * @author don_bruce
+ */
+public class AnimationInputTracker{
+	private final List<DurationDelayClock> clocks;
+	private final double[] lastInputs;
+	private boolean hasInputs;
+
+	/**The last state calculated from the clocks.  Set by the caller when it does the calculation.**/
+	public boolean lastState;
+	/**The last value calculated from the clocks.  Set by the caller when it does the calculation.**/
+	public double lastValue;
+
+	public AnimationInputTracker(List<DurationDelayClock> clocks){
+		this.clocks = clocks;
+		this.lastInputs = new double[clocks.size()];
+	}
+
+	/**
+	 *  Returns true if the clocks need to be evaluated.  This is the case if any of the variables they use
+	 *  changed since the last call, any of them are in the middle of their duration or delay, or this is
+	 *  the first call.  Also returns true if input tracking is disabled in the config.
+	 */
+	public boolean needsUpdate(AEntityD_Definable<?> entity, float partialTicks){
+		boolean needsUpdate = !hasInputs || !ConfigSystem.configObject.clientRendering.trackEffectInputs.value;
+		for(int i=0; i<lastInputs.length; ++i){
+			DurationDelayClock clock = clocks.get(i);
+			double input = clock.expression.getVariableValue(entity, partialTicks);
+			if(input != lastInputs[i]){
+				lastInputs[i] = input;
+				needsUpdate = true;
+			}else if(clock.isAnimating()){
+				needsUpdate = true;
+			}
+		}
+		hasInputs = true;
+		return needsUpdate;
+	}
+}
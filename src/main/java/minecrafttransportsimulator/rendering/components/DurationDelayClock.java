@@ -24,6 +24,7 @@ public class DurationDelayClock{
 	private static final double d1 = 2.75;
 	
 	public final JSONAnimationDefinition animation;
+	public final AnimationExpression expression;
 	public final double animationAxisMagnitude;
 	public final Point3d animationAxisNormalized;
 	public final boolean isUseful;
@@ -32,17 +33,35 @@ public class DurationDelayClock{
 	private Long timeCommandedReverse = 0L;
 	
 	private final boolean shouldDoFactoring;
+	private final long forwardsDelayTime;
+	private final long reverseDelayTime;
+	private final long durationTime;
+	private final long forwardsCycleTime;
+	private final long reverseCycleTime;
 	private boolean startedForwardsMovement = false;
 	private boolean endedForwardsMovement = false;
 	private boolean startedReverseMovement = false;
 	private boolean endedReverseMovement = false;
+	private boolean animating = false;
 	
 	public DurationDelayClock(JSONAnimationDefinition animation){
 		this.animation = animation;
+		if(animation.expression == null){
+			//Definitions created outside of pack loading won't have expressions, so make them here.
+			animation.expression = new AnimationExpression(animation);
+		}
+		this.expression = animation.expression;
 		this.animationAxisMagnitude = animation.axis != null ? animation.axis.length() : 1.0;
 		this.animationAxisNormalized = animation.axis != null ? animation.axis.copy().normalize() : null;
 		this.shouldDoFactoring = animation.duration != 0 || animation.forwardsDelay != 0 || animation.reverseDelay != 0;
 		this.isUseful = shouldDoFactoring || animation.animationType.equals(AnimationComponentType.VISIBILITY)  || animation.animationType.equals(AnimationComponentType.INHIBITOR)  || animation.animationType.equals(AnimationComponentType.ACTIVATOR) || animation.forwardsStartSound != null || animation.forwardsEndSound != null || animation.reverseStartSound != null || animation.reverseEndSound != null;
+		
+		//We do all time here in milliseconds, not ticks.  This allows for partial ticks.
+		this.forwardsDelayTime = animation.forwardsDelay*50L;
+		this.reverseDelayTime = animation.reverseDelay*50L;
+		this.durationTime = animation.duration*50L;
+		this.forwardsCycleTime = animation.skipForwardsMovement ? forwardsDelayTime : forwardsDelayTime + durationTime + reverseDelayTime;
+		this.reverseCycleTime = animation.skipReverseMovement ? reverseDelayTime : reverseDelayTime + durationTime + forwardsDelayTime;
 	}
 	
 	/**
@@ -53,14 +72,6 @@ public class DurationDelayClock{
 		boolean commandForwards = value > 0;
 		//We do all time here in milliseconds, not ticks.  This allows for partial ticks.
 		long currentTime = (long) ((entity.ticksExisted + partialTicks)*50D);
-		long forwardsCycleTime = animation.forwardsDelay*50;
-		if(!animation.skipForwardsMovement){
-			forwardsCycleTime += animation.duration*50 + animation.reverseDelay*50;
-		}
-		long reverseCycleTime = animation.reverseDelay*50;
-		if(!animation.skipReverseMovement){
-			reverseCycleTime += animation.duration*50 + animation.forwardsDelay*50;
-		}
 		movedThisUpdate = false;
 		
 		//If we don't have an existing command, just set ourselves to the end of our command path.
@@ -109,11 +120,11 @@ public class DurationDelayClock{
 		double movementFactor = 0;
 		if(commandForwards){
 			long timedelayed = currentTime - timeCommandedForwards;
-			if(timedelayed >= animation.forwardsDelay*50){
-				long timeMoved = currentTime - (timeCommandedForwards + animation.forwardsDelay*50);
-				if(timeMoved < animation.duration*50 && !animation.skipForwardsMovement){
+			if(timedelayed >= forwardsDelayTime){
+				long timeMoved = currentTime - (timeCommandedForwards + forwardsDelayTime);
+				if(timeMoved < durationTime && !animation.skipForwardsMovement){
 					movedThisUpdate = true;
-					movementFactor = timeMoved/(double)(animation.duration*50);
+					movementFactor = timeMoved/(double)durationTime;
 					if(animation.forwardsEasing != null){
 						movementFactor = getEasingType(animation.forwardsEasing, movementFactor);
 					}
@@ -136,11 +147,11 @@ public class DurationDelayClock{
 			}
 		}else{
 			long timedelayed = currentTime - timeCommandedReverse;
-			if(timedelayed >= animation.reverseDelay*50){
-				long timeMoved = currentTime - (timeCommandedReverse + animation.reverseDelay*50);
-				if(timeMoved < animation.duration*50 && !animation.skipReverseMovement){
+			if(timedelayed >= reverseDelayTime){
+				long timeMoved = currentTime - (timeCommandedReverse + reverseDelayTime);
+				if(timeMoved < durationTime && !animation.skipReverseMovement){
 					movedThisUpdate = true;
-					movementFactor = timeMoved/(double)(animation.duration*50);
+					movementFactor = timeMoved/(double)durationTime;
 					if(animation.reverseEasing != null){
 						movementFactor = getEasingType(animation.reverseEasing, movementFactor);
 					}
@@ -164,9 +175,20 @@ public class DurationDelayClock{
 			movementFactor = 1 - movementFactor;
 		}
 		
+		//We are animating until we reach the end of the movement for the current command.
+		animating = commandForwards ? !endedForwardsMovement : !endedReverseMovement;
 		return shouldDoFactoring ? movementFactor : value;
 	}
 	
+	/**
+	 *  Returns true if this clock was in the middle of its delay or duration on the last call to
+	 *  {@link #getFactoredState(AEntityD_Definable, double, float)}.  If so, its state will change 
+	 *  on the next call even if the variable value doesn't.
+	 */
+	public boolean isAnimating(){
+		return animating;
+	}
+	
 	/**
 	 * This is used to check the easing type defined in the JSON fields
 	 * and call the respective easing function to return a value
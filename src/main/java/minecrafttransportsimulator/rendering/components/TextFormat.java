@@ -0,0 +1,331 @@
+package minecrafttransportsimulator.rendering.components;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+import minecrafttransportsimulator.jsondefs.JSONText;
+
+/**Compiled form of a {@link JSONText#variableFormat}.  The format string is parsed once when the pack
+ * is loaded, and values are then formatted directly into a {@link Buffer} held by the entity showing the text.
+ * If the formatted characters are the same as the last call, the last String is returned rather than a new one.
+ * This prevents instruments and other variable text from creating new Strings every frame.
+ * <br><br>
+ * Only the common case of a single %f or %s conversion with simple flags is handled here.  Anything else,
+ * and any number too large or too close to a rounding boundary to be formatted exactly, falls back
+ * to {@link String#format(String, Object...)} so the output is always the same as it would be there.
+ *
+ * @author don_bruce
+ */
+public class TextFormat{
+	private static final long[] POWERS_OF_TEN = new long[]{1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L};
+	/**Largest scaled value we format ourselves.  Above this, double precision is too coarse to round correctly.**/
+	private static final double MAX_SCALED_VALUE = 1E13;
+
+	/**The format string this was compiled from.**/
+	public final String format;
+	/**True if the format was able to be compiled.  If false, all calls fall back to String.format.**/
+	private final boolean compiled;
+	private final String prefix;
+	private final String suffix;
+	/**Conversion type: f for numbers, s for strings, or 0 if the format is just literal text.**/
+	private final char conversion;
+	private final boolean leftJustify;
+	private final boolean zeroPad;
+	private final boolean plusSign;
+	private final boolean spaceSign;
+	private final int width;
+	private final int precision;
+	private final char decimalSeparator;
+
+	public TextFormat(String format){
+		this.format = format;
+		DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+		this.decimalSeparator = symbols.getDecimalSeparator();
+
+		//Parse out the literal text and the single conversion.
+		StringBuilder literal = new StringBuilder();
+		String parsedPrefix = null;
+		char parsedConversion = 0;
+		boolean parsedLeftJustify = false;
+		boolean parsedZeroPad = false;
+		boolean parsedPlusSign = false;
+		boolean parsedSpaceSign = false;
+		int parsedWidth = 0;
+		int parsedPrecision = -1;
+		boolean valid = symbols.getZeroDigit() == '0';
+		int index = 0;
+		while(valid && index < format.length()){
+			char c = format.charAt(index++);
+			if(c != '%'){
+				literal.append(c);
+				continue;
+			}else if(index < format.length() && format.charAt(index) == '%'){
+				literal.append('%');
+				++index;
+				continue;
+			}else if(parsedPrefix != null){
+				//More than one conversion, let String.format deal with it.
+				valid = false;
+				break;
+			}
+
+			//Flags.
+			boolean parsingFlags = true;
+			while(parsingFlags && index < format.length()){
+				switch(format.charAt(index)){
+					case '-' : parsedLeftJustify = true; ++index; break;
+					case '0' : parsedZeroPad = true; ++index; break;
+					case '+' : parsedPlusSign = true; ++index; break;
+					case ' ' : parsedSpaceSign = true; ++index; break;
+					default : parsingFlags = false;
+				}
+			}
+
+			//Width and precision.
+			while(index < format.length() && Character.isDigit(format.charAt(index))){
+				parsedWidth = parsedWidth*10 + (format.charAt(index++) - '0');
+			}
+			if(index < format.length() && format.charAt(index) == '.'){
+				++index;
+				parsedPrecision = 0;
+				if(index == format.length() || !Character.isDigit(format.charAt(index))){
+					valid = false;
+					break;
+				}
+				while(index < format.length() && Character.isDigit(format.charAt(index))){
+					parsedPrecision = parsedPrecision*10 + (format.charAt(index++) - '0');
+				}
+			}
+
+			//Conversion.  Only f and s are handled, with the flags each one accepts.
+			if(index == format.length()){
+				valid = false;
+				break;
+			}
+			parsedConversion = format.charAt(index++);
+			if(parsedConversion == 'f'){
+				if(parsedPrecision == -1){
+					parsedPrecision = 6;
+				}
+				valid = parsedPrecision < POWERS_OF_TEN.length && !(parsedLeftJustify && parsedZeroPad) && !(parsedPlusSign && parsedSpaceSign) && ((!parsedLeftJustify && !parsedZeroPad) || parsedWidth != 0);
+			}else if(parsedConversion == 's'){
+				valid = !parsedZeroPad && !parsedPlusSign && !parsedSpaceSign && (!parsedLeftJustify || parsedWidth != 0);
+			}else{
+				valid = false;
+			}
+			parsedPrefix = literal.toString();
+			literal.setLength(0);
+		}
+
+		this.compiled = valid;
+		this.prefix = parsedPrefix != null ? parsedPrefix : literal.toString();
+		this.suffix = parsedPrefix != null ? literal.toString() : "";
+		this.conversion = parsedConversion;
+		this.leftJustify = parsedLeftJustify;
+		this.zeroPad = parsedZeroPad;
+		this.plusSign = parsedPlusSign;
+		this.spaceSign = parsedSpaceSign;
+		this.width = parsedWidth;
+		this.precision = parsedPrecision;
+	}
+
+	/**
+	 *  Formats the passed-in number into the buffer, returning the resulting String.
+	 *  If the number is the same as the last number formatted, or the formatted text
+	 *  is the same as the last text, then the String from the last call is returned.
+	 */
+	public String format(double value, Buffer buffer){
+		if(buffer.lastString != null && buffer.lastText == null && Double.doubleToLongBits(value) == Double.doubleToLongBits(buffer.lastNumber)){
+			return buffer.lastString;
+		}
+		buffer.lastNumber = value;
+		buffer.lastText = null;
+
+		int length = -1;
+		if(compiled){
+			if(conversion == 0){
+				length = appendLiteral(buffer, 0, prefix);
+			}else if(conversion == 'f'){
+				length = formatNumber(value, buffer);
+			}
+		}
+		if(length == -1){
+			return setString(buffer, String.format(format, value));
+		}else{
+			return setString(buffer, length);
+		}
+	}
+
+	/**
+	 *  Like {@link #format(double, Buffer)}, but for text-based variables.
+	 */
+	public String format(String value, Buffer buffer){
+		if(buffer.lastString != null && value.equals(buffer.lastText)){
+			return buffer.lastString;
+		}
+		buffer.lastText = value;
+
+		int length = -1;
+		if(compiled){
+			if(conversion == 0){
+				length = appendLiteral(buffer, 0, prefix);
+			}else if(conversion == 's'){
+				length = formatText(value, buffer);
+			}
+		}
+		if(length == -1){
+			return setString(buffer, String.format(format, value));
+		}else{
+			return setString(buffer, length);
+		}
+	}
+
+	private int formatNumber(double value, Buffer buffer){
+		if(Double.isNaN(value) || Double.isInfinite(value)){
+			return -1;
+		}
+
+		//Round to the precision.  If we are near a half-way point, the binary value may not round
+		//the same way as the decimal value String.format uses, so let it handle those.
+		double scaledValue = Math.abs(value)*POWERS_OF_TEN[precision];
+		if(scaledValue >= MAX_SCALED_VALUE){
+			return -1;
+		}
+		double fraction = scaledValue - Math.floor(scaledValue);
+		if(Math.abs(fraction - 0.5) <= Math.max(Math.ulp(scaledValue)*64, 1E-9)){
+			return -1;
+		}
+		long digits = Math.round(scaledValue);
+		long integerPart = digits/POWERS_OF_TEN[precision];
+		long fractionPart = digits%POWERS_OF_TEN[precision];
+
+		//Get the sign and the number of characters the number will take up.
+		char sign = 0;
+		if(value < 0 || (value == 0 && 1/value < 0)){
+			sign = '-';
+		}else if(plusSign){
+			sign = '+';
+		}else if(spaceSign){
+			sign = ' ';
+		}
+		int integerDigits = 1;
+		for(long remaining = integerPart/10; remaining > 0; remaining /= 10){
+			++integerDigits;
+		}
+		int numberLength = (sign != 0 ? 1 : 0) + integerDigits + (precision > 0 ? precision + 1 : 0);
+		int padding = width > numberLength ? width - numberLength : 0;
+		buffer.ensureCapacity(prefix.length() + numberLength + padding + suffix.length());
+
+		//Write the number, padding as required.
+		char[] chars = buffer.chars;
+		int index = appendLiteral(buffer, 0, prefix);
+		if(!leftJustify && !zeroPad){
+			index = appendRepeated(chars, index, ' ', padding);
+		}
+		if(sign != 0){
+			chars[index++] = sign;
+		}
+		if(zeroPad){
+			index = appendRepeated(chars, index, '0', padding);
+		}
+		index += integerDigits;
+		for(int i=1; i<=integerDigits; ++i){
+			chars[index - i] = (char) ('0' + integerPart%10);
+			integerPart /= 10;
+		}
+		if(precision > 0){
+			chars[index++] = decimalSeparator;
+			index += precision;
+			for(int i=1; i<=precision; ++i){
+				chars[index - i] = (char) ('0' + fractionPart%10);
+				fractionPart /= 10;
+			}
+		}
+		if(leftJustify){
+			index = appendRepeated(chars, index, ' ', padding);
+		}
+		return appendLiteral(buffer, index, suffix);
+	}
+
+	private int formatText(String value, Buffer buffer){
+		int textLength = precision != -1 && precision < value.length() ? precision : value.length();
+		int padding = width > textLength ? width - textLength : 0;
+		buffer.ensureCapacity(prefix.length() + textLength + padding + suffix.length());
+
+		char[] chars = buffer.chars;
+		int index = appendLiteral(buffer, 0, prefix);
+		if(!leftJustify){
+			index = appendRepeated(chars, index, ' ', padding);
+		}
+		value.getChars(0, textLength, chars, index);
+		index += textLength;
+		if(leftJustify){
+			index = appendRepeated(chars, index, ' ', padding);
+		}
+		return appendLiteral(buffer, index, suffix);
+	}
+
+	private static int appendLiteral(Buffer buffer, int index, String literal){
+		buffer.ensureCapacity(index + literal.length());
+		literal.getChars(0, literal.length(), buffer.chars, index);
+		return index + literal.length();
+	}
+
+	private static int appendRepeated(char[] chars, int index, char c, int count){
+		for(int i=0; i<count; ++i){
+			chars[index++] = c;
+		}
+		return index;
+	}
+
+	/**
+	 *  Sets the buffer's String to the first length characters of the buffer, if they are different from the current String.
+	 */
+	private static String setString(Buffer buffer, int length){
+		String lastString = buffer.lastString;
+		if(lastString != null && lastString.length() == length){
+			boolean matches = true;
+			for(int i=0; i<length; ++i){
+				if(lastString.charAt(i) != buffer.chars[i]){
+					matches = false;
+					break;
+				}
+			}
+			if(matches){
+				return lastString;
+			}
+		}
+		buffer.lastString = new String(buffer.chars, 0, length);
+		return buffer.lastString;
+	}
+
+	/**
+	 *  Sets the buffer's String to the passed-in String, unless they are the same, in which case the old one is kept.
+	 */
+	private static String setString(Buffer buffer, String formatted){
+		if(!formatted.equals(buffer.lastString)){
+			buffer.lastString = formatted;
+		}
+		return buffer.lastString;
+	}
+
+	/**Per-text-object state for formatting.  Holds the characters being formatted and the last result.
+	 * One of these should exist for every entity and text object pair, and it may not be shared across threads.
+	 *
+	 * @author don_bruce
+	 */
+	public static class Buffer{
+		private char[] chars = new char[32];
+		private String lastString;
+		private String lastText;
+		private double lastNumber;
+
+		private void ensureCapacity(int capacity){
+			if(chars.length < capacity){
+				char[] newChars = new char[Math.max(capacity, chars.length*2)];
+				System.arraycopy(chars, 0, newChars, 0, chars.length);
+				chars = newChars;
+			}
+		}
+	}
+}
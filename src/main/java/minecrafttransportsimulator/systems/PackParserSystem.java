@@ -16,6 +16,7 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import minecrafttransportsimulator.MasterLoader;
+import minecrafttransportsimulator.entities.components.VariableRegistry;
 import minecrafttransportsimulator.items.components.AItemPack;
 import minecrafttransportsimulator.items.components.AItemPart;
 import minecrafttransportsimulator.items.components.AItemPart.AItemPartCreator;
@@ -426,6 +427,9 @@ public final class PackParserSystem{
 	    	//This will populate any required fields that were not in older versions.
 			LegacyCompatSystem.performLegacyCompats(itemDef);
 			JSONParser.validateFields(itemDef, itemDef.packID + ":" + itemDef.systemName + "/", 1);
+			
+			//Resolve all variables the definition uses now so entities don't have to look them up by name.
+			VariableRegistry.registerVariables(itemDef);
 	    			
 	    	//Create all required items.
 			if(itemDef instanceof AJSONMultiModelProvider){